@@ -0,0 +1,538 @@
+/*
+ * Copyright (c) 2026, Jordan Atwood <nightfirecat@nightfirec.at>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package at.nightfirec.fightcavewaves;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import lombok.Getter;
+
+/**
+ * Derives the waves of a wave-based encounter one at a time from its spawn {@link Rules}. Each wave is derived from the
+ * previous one in place, in a pair of small {@code int[]}s indexed by monster ordinal, so no waves are stored and
+ * encounters of any length, including endless ones, can be generated on demand.
+ * <p>
+ * A generator is a cursor: {@link #advance()} moves it to the next wave, whose contents are then read with
+ * {@link #count(WaveMonster)}, and neither allocates. {@link #spliterator()} and {@link #stream()} instead produce each
+ * wave as an immutable {@link Wave}, and can be split for parallel streams.
+ */
+final class WaveGenerator
+{
+	private static final int NONE = -1;
+	// The number of waves split off by the first trySplit of a spliterator, which grows with each later split
+	private static final int SPLIT_BATCH = 16;
+
+	private enum Phase
+	{
+		DERIVING,
+		APPENDING,
+		DONE,
+	}
+
+	private final Rules rules;
+	// The number of spawns of each monster in the most recently derived wave
+	private final int[] spawns;
+	// The number of each monster in the current wave, which may be an inserted or appended wave rather than a derived one
+	private final int[] counts;
+
+	/**
+	 * The current wave's index, or {@code -1} before the first call to {@link #advance()}
+	 */
+	@Getter
+	private int waveIndex = -1;
+	private Phase phase = Phase.DERIVING;
+	// Whether the next wave must be derived without checking the stop and doubling rules, after an inserted wave
+	private boolean insertedWave;
+	private int appendIndex;
+
+	WaveGenerator(final Rules rules)
+	{
+		if (rules.start.length == 0 || rules.cycle.length == 0 || rules.maxSpawns <= 0)
+		{
+			throw new IllegalArgumentException("Wave rules must define start, cycle, and max spawns");
+		}
+
+		this.rules = rules.copy();
+		spawns = new int[rules.monsters.length];
+		counts = new int[rules.monsters.length];
+	}
+
+	private WaveGenerator(final WaveGenerator other)
+	{
+		rules = other.rules;
+		spawns = other.spawns.clone();
+		counts = other.counts.clone();
+		waveIndex = other.waveIndex;
+		phase = other.phase;
+		insertedWave = other.insertedWave;
+		appendIndex = other.appendIndex;
+	}
+
+	WaveMonster[] getMonsters()
+	{
+		return rules.monsters.clone();
+	}
+
+	/**
+	 * Moves to the next wave.
+	 *
+	 * @return {@code false} if there are no more waves
+	 * @throws IllegalStateException If a non-repeating cycle is exhausted before any rule stops its waves
+	 */
+	boolean advance()
+	{
+		if (phase == Phase.DERIVING)
+		{
+			if (waveIndex < 0)
+			{
+				for (final int ordinal : rules.start)
+				{
+					spawns[ordinal]++;
+				}
+				return derived();
+			}
+
+			if (insertedWave)
+			{
+				insertedWave = false;
+				deriveNext();
+				return derived();
+			}
+
+			if (contains(rules.stopWith) || (isDoubled() && contains(rules.doubledStop)))
+			{
+				phase = Phase.APPENDING;
+			}
+			else if (isDoubled() && rules.doubledInsert != NONE)
+			{
+				Arrays.fill(counts, 0);
+				counts[rules.doubledInsert] = rules.doubledInsertSpawns * rules.monsters[rules.doubledInsert].getCountPerSpawn();
+				insertedWave = true;
+				waveIndex++;
+				return true;
+			}
+			else
+			{
+				deriveNext();
+				return derived();
+			}
+		}
+
+		if (phase == Phase.APPENDING && appendIndex < rules.appendedMonsters.length)
+		{
+			Arrays.fill(counts, 0);
+			counts[rules.appendedMonsters[appendIndex]] = rules.appendedQuantities[appendIndex];
+			appendIndex++;
+			waveIndex++;
+			return true;
+		}
+
+		phase = Phase.DONE;
+		return false;
+	}
+
+	/**
+	 * @return The number of the given monster in the current wave
+	 */
+	int count(final WaveMonster monster)
+	{
+		return counts[monster.ordinal()];
+	}
+
+	/**
+	 * @return A spliterator over this generator's remaining waves, which advances a copy of this generator
+	 */
+	Spliterator<Wave> spliterator()
+	{
+		return new WaveSpliterator(new WaveGenerator(this), Long.MAX_VALUE);
+	}
+
+	/**
+	 * @return A sequential stream of this generator's remaining waves. Call {@link Stream#parallel()} on the result to
+	 *         split it between threads.
+	 */
+	Stream<Wave> stream()
+	{
+		return StreamSupport.stream(spliterator(), false);
+	}
+
+	/**
+	 * Derives every wave of a finite encounter into a list.
+	 */
+	static List<Wave> generateAll(final Rules rules)
+	{
+		final List<Wave> waves = new ArrayList<>();
+		final WaveGenerator generator = new WaveGenerator(rules);
+		while (generator.advance())
+		{
+			waves.add(generator.snapshot());
+		}
+		return waves;
+	}
+
+	private boolean derived()
+	{
+		for (int ordinal = 0; ordinal < spawns.length; ordinal++)
+		{
+			counts[ordinal] = spawns[ordinal] * rules.monsters[ordinal].getCountPerSpawn();
+		}
+		waveIndex++;
+		return true;
+	}
+
+	/**
+	 * Replaces the first monster in the cycle which has reached the max spawns with a spawn of the monster after it
+	 */
+	private void deriveNext()
+	{
+		final int[] cycle = rules.cycle;
+		int maxCycleIndex = NONE;
+		for (int i = 0; i < cycle.length; i++)
+		{
+			if (spawns[cycle[i]] == rules.maxSpawns)
+			{
+				maxCycleIndex = i;
+				spawns[cycle[i]] = 0;
+				break;
+			}
+		}
+
+		int addedCycleIndex = maxCycleIndex + 1;
+		if (addedCycleIndex >= cycle.length)
+		{
+			if (!rules.repeatCycle)
+			{
+				throw new IllegalStateException("Waves reached the end of their cycle without stopping");
+			}
+			addedCycleIndex = 0;
+		}
+
+		spawns[cycle[addedCycleIndex]]++;
+	}
+
+	/**
+	 * @return Whether the last derived wave contains exactly two monsters, one of which has the max spawns
+	 */
+	private boolean isDoubled()
+	{
+		int present = 0;
+		boolean maxed = false;
+		for (final int count : spawns)
+		{
+			if (count > 0)
+			{
+				present++;
+				maxed |= count == rules.maxSpawns;
+			}
+		}
+		return present == 2 && maxed;
+	}
+
+	private boolean contains(final int ordinal)
+	{
+		return ordinal != NONE && spawns[ordinal] > 0;
+	}
+
+	private Wave snapshot()
+	{
+		return new Wave(rules.monsters, waveIndex, counts.clone());
+	}
+
+	/**
+	 * Skips up to the given number of waves.
+	 *
+	 * @return The number of waves skipped
+	 */
+	private long skip(final long waves)
+	{
+		long skipped = 0;
+		while (skipped < waves && advance())
+		{
+			skipped++;
+		}
+		return skipped;
+	}
+
+	/**
+	 * The rules a {@link WaveGenerator} derives waves from. The rule format which these are usually parsed from,
+	 * {@code wave-rules.txt}, documents each rule in detail.
+	 */
+	static final class Rules
+	{
+		private final WaveMonster[] monsters;
+		private int[] start = new int[0];
+		private int[] cycle = new int[0];
+		private boolean repeatCycle;
+		private int maxSpawns;
+		private int stopWith = NONE;
+		private int doubledStop = NONE;
+		private int doubledInsert = NONE;
+		private int doubledInsertSpawns;
+		private int[] appendedMonsters = new int[0];
+		private int[] appendedQuantities = new int[0];
+
+		/**
+		 * @param monsters Every monster of the encounter, indexed by ordinal, e.g. {@code FightCaveMonster.values()}
+		 */
+		Rules(final WaveMonster[] monsters)
+		{
+			this.monsters = monsters.clone();
+		}
+
+		/**
+		 * Sets the first wave, containing one spawn of each given monster.
+		 */
+		Rules start(final WaveMonster... start)
+		{
+			this.start = ordinals(start);
+			return this;
+		}
+
+		/**
+		 * Sets the order in which monsters are added to each derived wave.
+		 */
+		Rules cycle(final WaveMonster... cycle)
+		{
+			this.cycle = ordinals(cycle);
+			return this;
+		}
+
+		/**
+		 * Sets whether the cycle starts over from its first monster once its last monster reaches the max spawns. This
+		 * allows endless encounters, which are otherwise an error.
+		 */
+		Rules repeatCycle(final boolean repeatCycle)
+		{
+			this.repeatCycle = repeatCycle;
+			return this;
+		}
+
+		Rules maxSpawns(final int maxSpawns)
+		{
+			this.maxSpawns = maxSpawns;
+			return this;
+		}
+
+		/**
+		 * Stops deriving waves after a wave containing the given monster.
+		 */
+		Rules stopWith(final WaveMonster monster)
+		{
+			stopWith = ordinal(monster);
+			return this;
+		}
+
+		/**
+		 * Stops deriving waves after a doubled wave containing the given monster.
+		 */
+		Rules doubledStop(final WaveMonster monster)
+		{
+			doubledStop = ordinal(monster);
+			return this;
+		}
+
+		/**
+		 * Inserts a wave of only the given number of spawns of the given monster after any other doubled wave.
+		 */
+		Rules doubledInsert(final WaveMonster monster, final int spawns)
+		{
+			doubledInsert = ordinal(monster);
+			doubledInsertSpawns = spawns;
+			return this;
+		}
+
+		/**
+		 * Appends a wave of only the given quantity of the given monster once waves are no longer derived.
+		 */
+		Rules append(final WaveMonster monster, final int quantity)
+		{
+			appendedMonsters = Arrays.copyOf(appendedMonsters, appendedMonsters.length + 1);
+			appendedQuantities = Arrays.copyOf(appendedQuantities, appendedQuantities.length + 1);
+			appendedMonsters[appendedMonsters.length - 1] = ordinal(monster);
+			appendedQuantities[appendedQuantities.length - 1] = quantity;
+			return this;
+		}
+
+		private Rules copy()
+		{
+			final Rules copy = new Rules(monsters);
+			copy.start = start.clone();
+			copy.cycle = cycle.clone();
+			copy.repeatCycle = repeatCycle;
+			copy.maxSpawns = maxSpawns;
+			copy.stopWith = stopWith;
+			copy.doubledStop = doubledStop;
+			copy.doubledInsert = doubledInsert;
+			copy.doubledInsertSpawns = doubledInsertSpawns;
+			copy.appendedMonsters = appendedMonsters.clone();
+			copy.appendedQuantities = appendedQuantities.clone();
+			return copy;
+		}
+
+		private int[] ordinals(final WaveMonster[] monsters)
+		{
+			final int[] ordinals = new int[monsters.length];
+			for (int i = 0; i < monsters.length; i++)
+			{
+				ordinals[i] = ordinal(monsters[i]);
+			}
+			return ordinals;
+		}
+
+		private int ordinal(final WaveMonster monster)
+		{
+			final int ordinal = monster.ordinal();
+			if (ordinal >= monsters.length || monsters[ordinal] != monster)
+			{
+				throw new IllegalArgumentException(monster.getName() + " is not one of this encounter's monsters");
+			}
+			return ordinal;
+		}
+	}
+
+	/**
+	 * An immutable copy of a single generated wave
+	 */
+	static final class Wave
+	{
+		private final WaveMonster[] monsters;
+		@Getter
+		private final int waveIndex;
+		private final int[] counts;
+
+		private Wave(final WaveMonster[] monsters, final int waveIndex, final int[] counts)
+		{
+			this.monsters = monsters;
+			this.waveIndex = waveIndex;
+			this.counts = counts;
+		}
+
+		int count(final WaveMonster monster)
+		{
+			return counts[monster.ordinal()];
+		}
+
+		/**
+		 * @return The total number of monsters in this wave
+		 */
+		int total()
+		{
+			int total = 0;
+			for (final int count : counts)
+			{
+				total += count;
+			}
+			return total;
+		}
+
+		@Override
+		public String toString()
+		{
+			final StringBuilder sb = new StringBuilder("Wave ").append(waveIndex + 1).append(':');
+			for (int ordinal = 0; ordinal < counts.length; ordinal++)
+			{
+				if (counts[ordinal] > 0)
+				{
+					sb.append(' ').append(counts[ordinal]).append("x ").append(monsters[ordinal].getName());
+				}
+			}
+			return sb.toString();
+		}
+	}
+
+	/**
+	 * Splits by handing the next batch of waves to a copy of the generator and skipping past them in this one. Deriving
+	 * a wave is a handful of array operations, so skipping ahead is cheap next to any per-wave work done in parallel.
+	 */
+	private static final class WaveSpliterator implements Spliterator<Wave>
+	{
+		private final WaveGenerator generator;
+		// The number of waves this spliterator may still produce, or Long.MAX_VALUE if unbounded
+		private long remaining;
+		private int batch = SPLIT_BATCH;
+
+		WaveSpliterator(final WaveGenerator generator, final long remaining)
+		{
+			this.generator = generator;
+			this.remaining = remaining;
+		}
+
+		@Override
+		public boolean tryAdvance(final Consumer<? super Wave> action)
+		{
+			if (remaining <= 0 || !generator.advance())
+			{
+				remaining = 0;
+				return false;
+			}
+
+			if (remaining != Long.MAX_VALUE)
+			{
+				remaining--;
+			}
+			action.accept(generator.snapshot());
+			return true;
+		}
+
+		@Override
+		public Spliterator<Wave> trySplit()
+		{
+			final long size = remaining == Long.MAX_VALUE ? batch : Math.min(batch, remaining / 2);
+			if (size <= 0 || generator.phase == Phase.DONE)
+			{
+				return null;
+			}
+
+			final WaveSpliterator prefix = new WaveSpliterator(new WaveGenerator(generator), size);
+			final long skipped = generator.skip(size);
+			if (remaining != Long.MAX_VALUE)
+			{
+				remaining -= skipped;
+			}
+			if (skipped < size)
+			{
+				remaining = 0;
+			}
+			batch += SPLIT_BATCH;
+			return prefix;
+		}
+
+		@Override
+		public long estimateSize()
+		{
+			return remaining;
+		}
+
+		@Override
+		public int characteristics()
+		{
+			return ORDERED | NONNULL | IMMUTABLE;
+		}
+	}
+}
@@ -0,0 +1,224 @@
+/*
+ * Copyright (c) 2026, Jordan Atwood <nightfirecat@nightfirec.at>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package at.nightfirec.fightcavewaves;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import lombok.Getter;
+
+/**
+ * The rules describing the waves of a single wave-based encounter, parsed from the {@code wave-rules.txt} resource and
+ * compiled into a {@link WaveGenerator} by {@link #generator()}. The rule format itself is documented in that resource.
+ */
+final class WaveRules
+{
+	/**
+	 * The name of the generated class the compiled wave table is written to
+	 */
+	@Getter
+	private final String className;
+	@Getter
+	private final String encounterName;
+	@Getter
+	private final WaveMonster[] monsters;
+
+	private final WaveGenerator.Rules spawnRules;
+	private final List<WaveMonster> start = new ArrayList<>();
+	private final List<WaveMonster> cycle = new ArrayList<>();
+
+	private WaveRules(final String className, final String encounterName, final WaveMonster[] monsters)
+	{
+		this.className = className;
+		this.encounterName = encounterName;
+		this.monsters = monsters;
+		spawnRules = new WaveGenerator.Rules(monsters);
+	}
+
+	/**
+	 * Parses every encounter's rules from the lines of a rules file.
+	 *
+	 * @throws IllegalArgumentException If any line is not a valid rule
+	 */
+	static List<WaveRules> parse(final List<String> fileLines)
+	{
+		final List<WaveRules> encounters = new ArrayList<>();
+		WaveRules rules = null;
+
+		for (int lineNumber = 1; lineNumber <= fileLines.size(); lineNumber++)
+		{
+			final String line = fileLines.get(lineNumber - 1).trim();
+			if (line.isEmpty() || line.startsWith("#"))
+			{
+				continue;
+			}
+
+			final String[] args = line.split("\\s+");
+			try
+			{
+				if (args[0].equals("table"))
+				{
+					requireArgs(args, 4);
+					rules = new WaveRules(args[1], String.join(" ", Arrays.copyOfRange(args, 3, args.length)), monsterEnum(args[2]));
+					encounters.add(rules);
+				}
+				else if (rules == null)
+				{
+					throw new IllegalArgumentException("Rules must begin with a table directive");
+				}
+				else
+				{
+					rules.apply(args);
+				}
+			}
+			catch (IllegalArgumentException e)
+			{
+				throw new IllegalArgumentException("Invalid wave rule on line " + lineNumber + ": " + e.getMessage(), e);
+			}
+		}
+
+		for (final WaveRules encounter : encounters)
+		{
+			encounter.spawnRules
+				.start(encounter.start.toArray(new WaveMonster[0]))
+				.cycle(encounter.cycle.toArray(new WaveMonster[0]));
+			try
+			{
+				encounter.generator();
+			}
+			catch (IllegalArgumentException e)
+			{
+				throw new IllegalArgumentException(encounter.encounterName + " rules must define start, cycle, and max-spawns", e);
+			}
+		}
+
+		return encounters;
+	}
+
+	private void apply(final String[] args)
+	{
+		switch(args[0])
+		{
+			case "start":
+				requireArgs(args, 2);
+				start.addAll(monsters(args));
+				break;
+			case "cycle":
+				requireArgs(args, 2);
+				cycle.addAll(monsters(args));
+				break;
+			case "repeat-cycle":
+				spawnRules.repeatCycle(true);
+				break;
+			case "max-spawns":
+				requireArgs(args, 2);
+				spawnRules.maxSpawns(Integer.parseInt(args[1]));
+				break;
+			case "stop-with":
+				requireArgs(args, 2);
+				spawnRules.stopWith(monster(args[1]));
+				break;
+			case "doubled-stop":
+				requireArgs(args, 2);
+				spawnRules.doubledStop(monster(args[1]));
+				break;
+			case "doubled-insert":
+				requireArgs(args, 3);
+				spawnRules.doubledInsert(monster(args[1]), Integer.parseInt(args[2]));
+				break;
+			case "append":
+				requireArgs(args, 3);
+				spawnRules.append(monster(args[1]), Integer.parseInt(args[2]));
+				break;
+			default:
+				throw new IllegalArgumentException("Unknown directive " + args[0]);
+		}
+	}
+
+	/**
+	 * @return A new generator positioned before this encounter's first wave
+	 */
+	WaveGenerator generator()
+	{
+		return new WaveGenerator(spawnRules);
+	}
+
+	private List<WaveMonster> monsters(final String[] args)
+	{
+		final List<WaveMonster> result = new ArrayList<>();
+		for (int i = 1; i < args.length; i++)
+		{
+			result.add(monster(args[i]));
+		}
+		return result;
+	}
+
+	private WaveMonster monster(final String name)
+	{
+		for (final WaveMonster monster : monsters)
+		{
+			if (name(monster).equals(name))
+			{
+				return monster;
+			}
+		}
+
+		throw new IllegalArgumentException("Unknown " + encounterName + " monster " + name);
+	}
+
+	private static String name(final WaveMonster monster)
+	{
+		return ((Enum<?>) monster).name();
+	}
+
+	private static void requireArgs(final String[] args, final int count)
+	{
+		if (args.length < count)
+		{
+			throw new IllegalArgumentException(args[0] + " requires at least " + (count - 1) + " arguments");
+		}
+	}
+
+	private static WaveMonster[] monsterEnum(final String simpleName)
+	{
+		final Class<?> monsterClass;
+		try
+		{
+			monsterClass = Class.forName(WaveRules.class.getPackage().getName() + '.' + simpleName);
+		}
+		catch (ClassNotFoundException e)
+		{
+			throw new IllegalArgumentException("Unknown monster enum " + simpleName, e);
+		}
+
+		if (!monsterClass.isEnum() || !WaveMonster.class.isAssignableFrom(monsterClass))
+		{
+			throw new IllegalArgumentException(simpleName + " is not an enum of wave monsters");
+		}
+
+		final Object[] constants = monsterClass.getEnumConstants();
+		return Arrays.copyOf(constants, constants.length, WaveMonster[].class);
+	}
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2026, Jordan Atwood <nightfirecat@nightfirec.at>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package at.nightfirec.fightcavewaves;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Build-time generator which compiles each encounter's rules from the {@code wave-rules.txt} resource and writes its
+ * waves out as a Java source file containing a packed {@code short[]} wave table, in the layout expected by
+ * {@link WaveTable}.
+ * <p>
+ * Every table is rewritten on each run. The Gradle task running this generator is only out of date when its classpath
+ * (the rules, the monster definitions, or the generator itself) changes, so tables are only recompiled then.
+ */
+public final class WaveTableGenerator
+{
+	private static final String RULES_RESOURCE = "wave-rules.txt";
+
+	private WaveTableGenerator()
+	{
+	}
+
+	public static void main(final String[] args) throws IOException
+	{
+		if (args.length != 1)
+		{
+			throw new IllegalArgumentException("Usage: WaveTableGenerator <output source directory>");
+		}
+
+		final Path packageDirectory = Paths.get(args[0]).resolve(WaveTableGenerator.class.getPackage().getName().replace('.', '/'));
+		Files.createDirectories(packageDirectory);
+
+		for (final WaveRules rules : WaveRules.parse(readRules()))
+		{
+			final Path file = packageDirectory.resolve(rules.getClassName() + ".java");
+			writeWaveData(file, rules.getClassName(), rules.getEncounterName(), rules.getMonsters(), rules.generator());
+		}
+	}
+
+	private static List<String> readRules() throws IOException
+	{
+		try (InputStream in = WaveTableGenerator.class.getResourceAsStream(RULES_RESOURCE))
+		{
+			if (in == null)
+			{
+				throw new IOException("Missing wave rules resource " + RULES_RESOURCE);
+			}
+
+			return new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)).lines().collect(Collectors.toList());
+		}
+	}
+
+	private static void writeWaveData(final Path file, final String className, final String caveName,
+		final WaveMonster[] monsters, final WaveGenerator waves) throws IOException
+	{
+		final StringBuilder rows = new StringBuilder();
+		while (waves.advance())
+		{
+			rows.append("\t\t");
+			for (WaveMonster monster : monsters)
+			{
+				final int count = waves.count(monster);
+				if (count > Short.MAX_VALUE)
+				{
+					throw new IllegalStateException("Monster count " + count + " does not fit in a short");
+				}
+				rows.append(count).append(", ");
+			}
+			rows.append("// Wave ").append(waves.getWaveIndex() + 1).append('\n');
+		}
+
+		final StringBuilder sb = new StringBuilder();
+		sb.append("/*\n");
+		sb.append(" * Generated by ").append(WaveTableGenerator.class.getSimpleName()).append(" at build time. Do not edit.\n");
+		sb.append(" */\n");
+		sb.append("package ").append(WaveTableGenerator.class.getPackage().getName()).append(";\n\n");
+		sb.append("/**\n");
+		sb.append(" * Monster counts for each of the ").append(waves.getWaveIndex() + 1).append(' ').append(caveName).append(" waves, indexed by\n");
+		sb.append(" * {@code waveIndex * ").append(monsters.length).append(" + monster ordinal}.\n");
+		sb.append(" */\n");
+		sb.append("final class ").append(className).append("\n{\n");
+		sb.append("\tstatic final short[] COUNTS = {\n");
+		sb.append("\t\t//");
+		for (WaveMonster monster : monsters)
+		{
+			sb.append(' ').append(monster.getName());
+		}
+		sb.append('\n');
+
+		sb.append(rows);
+		sb.append("\t};\n\n");
+		sb.append("\tprivate ").append(className).append("()\n\t{\n\t}\n");
+		sb.append("}\n");
+
+		Files.write(file, sb.toString().getBytes(StandardCharsets.UTF_8));
+	}
+}
@@ -0,0 +1,207 @@
+/*
+ * Copyright (c) 2026, Jordan Atwood <nightfirecat@nightfirec.at>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package at.nightfirec.fightcavewaves;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+import static at.nightfirec.fightcavewaves.FightCaveMonster.KET_ZEK;
+import static at.nightfirec.fightcavewaves.FightCaveMonster.TOK_XIL;
+import static at.nightfirec.fightcavewaves.FightCaveMonster.TZTOK_JAD;
+import static at.nightfirec.fightcavewaves.FightCaveMonster.TZ_KEK;
+import static at.nightfirec.fightcavewaves.FightCaveMonster.TZ_KIH;
+import static at.nightfirec.fightcavewaves.FightCaveMonster.YT_MEJKOT;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+public class WaveGeneratorTest
+{
+	// These mirror the rules in wave-rules.txt, which testMatchesRulesResource checks
+	private static final WaveGenerator.Rules FIGHT_CAVE_RULES = new WaveGenerator.Rules(FightCaveMonster.values())
+		.start(TZ_KIH)
+		.cycle(TZ_KIH, TZ_KEK, TOK_XIL, YT_MEJKOT, KET_ZEK, TZTOK_JAD)
+		.maxSpawns(2)
+		.stopWith(TZTOK_JAD);
+	private static final WaveGenerator.Rules INFERNO_RULES = new WaveGenerator.Rules(InfernoMonster.values())
+		.start(InfernoMonster.JAL_NIB, InfernoMonster.JAL_MEJRAH)
+		.cycle(InfernoMonster.JAL_MEJRAH, InfernoMonster.JAL_AK, InfernoMonster.JAL_IMKOT, InfernoMonster.JAL_XIL, InfernoMonster.JAL_ZEK)
+		.maxSpawns(2)
+		.doubledStop(InfernoMonster.JAL_ZEK)
+		.doubledInsert(InfernoMonster.JAL_NIB, 2)
+		.append(InfernoMonster.JALTOK_JAD, 1)
+		.append(InfernoMonster.JALTOK_JAD, 3)
+		.append(InfernoMonster.TZKAL_ZUK, 1);
+	// A Fight Caves-like encounter which never reaches a boss
+	private static final WaveGenerator.Rules ENDLESS_RULES = new WaveGenerator.Rules(FightCaveMonster.values())
+		.start(TZ_KIH)
+		.cycle(TZ_KIH, TZ_KEK, TOK_XIL, YT_MEJKOT, KET_ZEK)
+		.repeatCycle(true)
+		.maxSpawns(2);
+
+	@Test
+	public void testMatchesRulesResource() throws IOException
+	{
+		final List<String> lines;
+		try (InputStream in = WaveGeneratorTest.class.getResourceAsStream("wave-rules.txt"))
+		{
+			assertNotNull(in);
+			lines = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)).lines().collect(Collectors.toList());
+		}
+
+		final List<WaveRules> encounters = WaveRules.parse(lines);
+		assertMatches(encounters.get(0).generator(), new WaveGenerator(FIGHT_CAVE_RULES));
+		assertMatches(encounters.get(1).generator(), new WaveGenerator(INFERNO_RULES));
+	}
+
+	@Test
+	public void testBossWaves()
+	{
+		final WaveGenerator fightCave = new WaveGenerator(FIGHT_CAVE_RULES);
+		for (int i = 0; i < 63; i++)
+		{
+			assertTrue(fightCave.advance());
+		}
+		assertEquals(1, fightCave.count(TZTOK_JAD));
+		assertFalse(fightCave.advance());
+
+		final WaveGenerator inferno = new WaveGenerator(INFERNO_RULES);
+		for (int i = 0; i < 69; i++)
+		{
+			assertTrue(inferno.advance());
+		}
+		assertEquals(1, inferno.count(InfernoMonster.TZKAL_ZUK));
+		assertFalse(inferno.advance());
+	}
+
+	@Test
+	public void testEndlessCycle()
+	{
+		final WaveGenerator generator = new WaveGenerator(ENDLESS_RULES);
+		for (int i = 0; i < 10_000; i++)
+		{
+			assertTrue(generator.advance());
+		}
+		assertEquals(9_999, generator.getWaveIndex());
+
+		// Without repeating, the cycle ending is an error rather than a silent stop
+		final WaveGenerator finite = new WaveGenerator(new WaveGenerator.Rules(FightCaveMonster.values())
+			.start(TZ_KIH)
+			.cycle(TZ_KIH, TZ_KEK)
+			.maxSpawns(1));
+		assertTrue(finite.advance());
+		assertTrue(finite.advance());
+		try
+		{
+			finite.advance();
+			throw new AssertionError("expected the cycle to be exhausted");
+		}
+		catch (IllegalStateException e)
+		{
+			// expected
+		}
+	}
+
+	@Test
+	public void testSpliteratorSplitsInOrder()
+	{
+		final Spliterator<WaveGenerator.Wave> spliterator = new WaveGenerator(FIGHT_CAVE_RULES).spliterator();
+		final Spliterator<WaveGenerator.Wave> prefix = spliterator.trySplit();
+		assertNotNull(prefix);
+
+		final int[] nextIndex = {0};
+		while (prefix.tryAdvance(wave -> assertEquals(nextIndex[0]++, wave.getWaveIndex())))
+		{
+			// drain the prefix first
+		}
+		while (spliterator.tryAdvance(wave -> assertEquals(nextIndex[0]++, wave.getWaveIndex())))
+		{
+			// then the remainder
+		}
+		assertEquals(new WaveGenerator(FIGHT_CAVE_RULES).stream().count(), nextIndex[0]);
+	}
+
+	@Test
+	public void testParallelStream()
+	{
+		final List<String> sequential = new WaveGenerator(ENDLESS_RULES).stream()
+			.limit(5_000)
+			.map(WaveGenerator.Wave::toString)
+			.collect(Collectors.toList());
+		final List<String> parallel = new WaveGenerator(ENDLESS_RULES).stream()
+			.parallel()
+			.limit(5_000)
+			.map(WaveGenerator.Wave::toString)
+			.collect(Collectors.toList());
+		assertEquals(sequential, parallel);
+
+		final long bossWaves = new WaveGenerator(FIGHT_CAVE_RULES).stream()
+			.parallel()
+			.filter(wave -> wave.count(TZTOK_JAD) > 0)
+			.count();
+		assertEquals(1, bossWaves);
+	}
+
+	@Test
+	public void testAdvanceDoesNotAllocate()
+	{
+		final AllocationMeter meter = AllocationMeter.assumeSupported();
+
+		final WaveGenerator generator = new WaveGenerator(ENDLESS_RULES);
+		// Warm up so that class loading and compilation are not measured
+		advance(generator);
+		meter.assertDoesNotAllocate(() -> advance(generator));
+	}
+
+	private static void assertMatches(final WaveGenerator expected, final WaveGenerator actual)
+	{
+		assertEquals(waves(expected), waves(actual));
+	}
+
+	private static List<String> waves(final WaveGenerator generator)
+	{
+		return generator.stream()
+			.map(WaveGenerator.Wave::toString)
+			.collect(Collectors.toList());
+	}
+
+	private static void advance(final WaveGenerator generator)
+	{
+		int total = 0;
+		for (int i = 0; i < 100_000; i++)
+		{
+			generator.advance();
+			total += generator.count(TZ_KIH);
+		}
+		assertTrue(total > 0);
+	}
+}
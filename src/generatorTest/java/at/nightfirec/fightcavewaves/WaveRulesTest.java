@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2026, Jordan Atwood <nightfirecat@nightfirec.at>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package at.nightfirec.fightcavewaves;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.fail;
+import org.junit.Test;
+
+public class WaveRulesTest
+{
+	@Test
+	public void testParseRulesResource() throws IOException
+	{
+		final List<String> lines;
+		try (InputStream in = WaveRulesTest.class.getResourceAsStream("wave-rules.txt"))
+		{
+			assertNotNull(in);
+			lines = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)).lines().collect(Collectors.toList());
+		}
+
+		final List<WaveRules> encounters = WaveRules.parse(lines);
+		assertEquals(2, encounters.size());
+
+		final WaveRules fightCave = encounters.get(0);
+		assertEquals("FightCaveWaveData", fightCave.getClassName());
+		assertEquals("Fight Caves", fightCave.getEncounterName());
+		assertEquals(63, waveCount(fightCave));
+
+		final WaveRules inferno = encounters.get(1);
+		assertEquals("InfernoWaveData", inferno.getClassName());
+		assertEquals("Inferno", inferno.getEncounterName());
+		assertEquals(69, waveCount(inferno));
+	}
+
+	@Test
+	public void testMinimalRules()
+	{
+		final List<WaveRules> encounters = WaveRules.parse(Arrays.asList(
+			"# comments and blank lines are ignored",
+			"",
+			"table Test FightCaveMonster Test cave",
+			"  start TZ_KIH  ",
+			"cycle TZ_KIH TZ_KEK",
+			"max-spawns 1",
+			"stop-with TZ_KEK"));
+
+		assertEquals(1, encounters.size());
+		assertEquals("Test cave", encounters.get(0).getEncounterName());
+		assertEquals(2, waveCount(encounters.get(0)));
+	}
+
+	@Test
+	public void testUnknownDirective()
+	{
+		assertInvalid("Invalid wave rule on line 3: Unknown directive stop-after",
+			"table Test FightCaveMonster Test",
+			"start TZ_KIH",
+			"stop-after TZTOK_JAD");
+	}
+
+	@Test
+	public void testMissingTable()
+	{
+		assertInvalid("Invalid wave rule on line 1: Rules must begin with a table directive",
+			"start TZ_KIH");
+	}
+
+	@Test
+	public void testMissingStart()
+	{
+		assertInvalid("Test rules must define start, cycle, and max-spawns",
+			"table Test FightCaveMonster Test",
+			"cycle TZ_KIH TZ_KEK",
+			"max-spawns 2");
+	}
+
+	@Test
+	public void testMissingCycle()
+	{
+		assertInvalid("Test rules must define start, cycle, and max-spawns",
+			"table Test FightCaveMonster Test",
+			"start TZ_KIH",
+			"max-spawns 2");
+	}
+
+	@Test
+	public void testMissingMaxSpawns()
+	{
+		assertInvalid("Test rules must define start, cycle, and max-spawns",
+			"table Test FightCaveMonster Test",
+			"start TZ_KIH",
+			"cycle TZ_KIH TZ_KEK");
+	}
+
+	@Test
+	public void testMalformedCounts()
+	{
+		assertInvalid("Invalid wave rule on line 2: For input string: \"two\"",
+			"table Test FightCaveMonster Test",
+			"max-spawns two");
+		assertInvalid("Invalid wave rule on line 2: For input string: \"1.5\"",
+			"table Test InfernoMonster Test",
+			"append JALTOK_JAD 1.5");
+		assertInvalid("Invalid wave rule on line 2: doubled-insert requires at least 2 arguments",
+			"table Test InfernoMonster Test",
+			"doubled-insert JAL_NIB");
+	}
+
+	@Test
+	public void testUnknownMonsters()
+	{
+		assertInvalid("Invalid wave rule on line 2: Unknown Test monster JAL_NIB",
+			"table Test FightCaveMonster Test",
+			"start JAL_NIB");
+		assertInvalid("Invalid wave rule on line 1: Unknown monster enum GodWarsMonster",
+			"table Test GodWarsMonster Test");
+		assertInvalid("Invalid wave rule on line 1: WaveRules is not an enum of wave monsters",
+			"table Test WaveRules Test");
+	}
+
+	private static int waveCount(final WaveRules rules)
+	{
+		return (int) rules.generator().stream().count();
+	}
+
+	private static void assertInvalid(final String message, final String... lines)
+	{
+		try
+		{
+			WaveRules.parse(Arrays.asList(lines));
+			fail("Expected rules to be rejected: " + Arrays.toString(lines));
+		}
+		catch (IllegalArgumentException e)
+		{
+			assertEquals(message, e.getMessage());
+		}
+	}
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2026, Jordan Atwood <nightfirecat@nightfirec.at>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package at.nightfirec.fightcavewaves;
+
+import java.util.concurrent.TimeUnit;
+import net.runelite.api.events.ChatMessage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ChatMessageBenchmark extends PluginBenchmarkState
+{
+	// Roughly the mix of game messages seen during a cave run: mostly unrelated messages, with wave messages between
+	private static final ChatMessage[] MESSAGES = {
+		gameMessage("<col=ef1020>Wave: 31</col>"),
+		gameMessage("You have been poisoned!"),
+		gameMessage("Your prayer has run out."),
+		gameMessage("You have run out of prayer points, you can recharge at an altar."),
+		gameMessage("Wave completed!"),
+		gameMessage("<col=ef1020>Your logout request has been received. The minigame will be paused at the end of this wave.<br><col=ef1020>If you try to log out before that, you will have to repeat this wave."),
+		gameMessage("Your Ring of recoil has shattered."),
+		gameMessage("<col=ef1020>The Inferno has been paused. You may now log out."),
+		gameMessage("<col=ef1020>Wave: 32</col>"),
+		gameMessage("You drink some of your Saradomin brew."),
+		gameMessage("<col=ef1020>The Fight Cave has been paused. You may now log out."),
+		gameMessage("You have 2 doses of potion left."),
+	};
+
+	private int messageIndex;
+
+	@Benchmark
+	public void onChatMessage()
+	{
+		plugin.onChatMessage(MESSAGES[messageIndex]);
+		messageIndex = (messageIndex + 1) % MESSAGES.length;
+	}
+}
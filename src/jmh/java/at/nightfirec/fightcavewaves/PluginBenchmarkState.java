@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2026, Jordan Atwood <nightfirecat@nightfirec.at>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package at.nightfirec.fightcavewaves;
+
+import com.google.gson.Gson;
+import com.google.inject.Guice;
+import com.google.inject.Scopes;
+import com.google.inject.testing.fieldbinder.Bind;
+import com.google.inject.testing.fieldbinder.BoundFieldModule;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ScheduledExecutorService;
+import javax.inject.Inject;
+import net.runelite.api.ChatMessageType;
+import net.runelite.api.Client;
+import net.runelite.api.GameState;
+import net.runelite.api.events.ChatMessage;
+import net.runelite.api.events.GameStateChanged;
+import net.runelite.client.config.ConfigManager;
+import net.runelite.client.ui.ClientToolbar;
+import net.runelite.client.ui.overlay.OverlayManager;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Base benchmark state providing a plugin instance wired up the same way as in FightCaveWavesPluginTest, with the
+ * player logged in to the benchmarked cave.
+ */
+@State(Scope.Thread)
+public abstract class PluginBenchmarkState
+{
+	@Bind
+	private final Client client = mock(Client.class);
+
+	@Bind
+	private final FightCaveWavesConfig config = new FightCaveWavesConfig()
+	{
+		@Override
+		public boolean directRendering()
+		{
+			return directRendering;
+		}
+	};
+
+	/**
+	 * The value of the {@link FightCaveWavesConfig#directRendering()} config item, which takes effect on the next
+	 * config change.
+	 */
+	boolean directRendering;
+
+	@Bind
+	private final ScheduledExecutorService executor = mock(ScheduledExecutorService.class);
+
+	@Bind
+	private final ConfigManager configManager = mock(ConfigManager.class);
+
+	@Bind
+	private final OverlayManager overlayManager = mock(OverlayManager.class);
+
+	@Bind
+	private final ClientToolbar clientToolbar = mock(ClientToolbar.class);
+
+	// Kept in a temporary directory, so that starting the plugin never reads or writes the real personal bests
+	@Bind
+	private PersonalBestSplits personalBests;
+
+	private Path personalBestsDirectory;
+
+	@Inject
+	FightCaveWavesPlugin plugin;
+
+	@Inject
+	WaveOverlay waveOverlay;
+
+	@Param({"FIGHT_CAVE", "INFERNO"})
+	CaveType cave;
+
+	@Setup
+	public void setUpPlugin() throws Exception
+	{
+		personalBestsDirectory = Files.createTempDirectory("fight-cave-waves");
+		personalBests = new PersonalBestSplits(executor, new Gson(), personalBestsDirectory.resolve(PersonalBestSplits.FILE_NAME));
+		Guice.createInjector(
+			BoundFieldModule.of(this),
+			binder -> binder.bind(FightCaveWavesPlugin.class).in(Scopes.SINGLETON))
+			.injectMembers(this);
+
+		final int region = cave == CaveType.FIGHT_CAVE ? FightCaveWavesPlugin.FIGHT_CAVE_REGION : FightCaveWavesPlugin.INFERNO_REGION;
+		when(client.getMapRegions()).thenReturn(new int[]{ region });
+
+		plugin.startUp();
+
+		final GameStateChanged loggedIn = new GameStateChanged();
+		loggedIn.setGameState(GameState.LOGGED_IN);
+		plugin.onGameStateChanged(loggedIn);
+		plugin.onChatMessage(gameMessage("<col=ef1020>Wave: 30</col>"));
+	}
+
+	@TearDown
+	public void tearDownPlugin() throws IOException
+	{
+		Files.deleteIfExists(personalBestsDirectory.resolve(PersonalBestSplits.FILE_NAME));
+		Files.deleteIfExists(personalBestsDirectory);
+	}
+
+	static ChatMessage gameMessage(final String message)
+	{
+		return new ChatMessage(null, ChatMessageType.GAMEMESSAGE, "", message, "", 0);
+	}
+}
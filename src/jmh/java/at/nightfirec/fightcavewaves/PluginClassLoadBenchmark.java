@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2026, Jordan Atwood <nightfirecat@nightfirec.at>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package at.nightfirec.fightcavewaves;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the cost of loading and initializing the plugin class, as done on the client's plugin loading path. Each
+ * invocation loads the plugin's classes through a fresh class loader so that their static initializers run again.
+ * <p>
+ * Comparing {@link #loadPluginClass()} between versions shows the class-load cost of any work done in the plugin's
+ * static initializers, while {@link #loadPluginClassAndEnterCaves()} includes building every cave's wave table.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 20)
+@Measurement(iterations = 50)
+@Fork(3)
+public class PluginClassLoadBenchmark
+{
+	private static final String PACKAGE_PREFIX = FightCaveWavesPlugin.class.getPackage().getName() + '.';
+
+	@Benchmark
+	public Class<?> loadPluginClass() throws ReflectiveOperationException
+	{
+		return Class.forName(FightCaveWavesPlugin.class.getName(), true, new IsolatingClassLoader());
+	}
+
+	@Benchmark
+	public Object loadPluginClassAndEnterCaves() throws ReflectiveOperationException
+	{
+		final ClassLoader classLoader = new IsolatingClassLoader();
+		Class.forName(FightCaveWavesPlugin.class.getName(), true, classLoader);
+
+		final Class<?> caveType = Class.forName(CaveType.class.getName(), true, classLoader);
+		final Method forCave = Class.forName(WaveTables.class.getName(), true, classLoader).getDeclaredMethod("forCave", caveType);
+		forCave.setAccessible(true);
+
+		Object table = null;
+		for (Object cave : caveType.getEnumConstants())
+		{
+			table = forCave.invoke(null, cave);
+		}
+		return table;
+	}
+
+	/**
+	 * Defines this plugin's classes itself rather than delegating to its parent, leaving all other classes (the client,
+	 * Guava, etc.) shared with the benchmark's class loader.
+	 */
+	private static final class IsolatingClassLoader extends ClassLoader
+	{
+		IsolatingClassLoader()
+		{
+			super(PluginClassLoadBenchmark.class.getClassLoader());
+		}
+
+		@Override
+		protected Class<?> loadClass(final String name, final boolean resolve) throws ClassNotFoundException
+		{
+			if (!name.startsWith(PACKAGE_PREFIX))
+			{
+				return super.loadClass(name, resolve);
+			}
+
+			synchronized (getClassLoadingLock(name))
+			{
+				Class<?> loaded = findLoadedClass(name);
+				if (loaded == null)
+				{
+					loaded = defineIsolatedClass(name);
+				}
+
+				if (resolve)
+				{
+					resolveClass(loaded);
+				}
+				return loaded;
+			}
+		}
+
+		private Class<?> defineIsolatedClass(final String name) throws ClassNotFoundException
+		{
+			final String resource = name.replace('.', '/') + ".class";
+			try (InputStream in = getParent().getResourceAsStream(resource))
+			{
+				if (in == null)
+				{
+					throw new ClassNotFoundException(name);
+				}
+
+				final byte[] bytes = readFully(in);
+				return defineClass(name, bytes, 0, bytes.length);
+			}
+			catch (IOException e)
+			{
+				throw new ClassNotFoundException(name, e);
+			}
+		}
+
+		private static byte[] readFully(final InputStream in) throws IOException
+		{
+			byte[] buffer = new byte[8192];
+			int length = 0;
+			int read;
+			while ((read = in.read(buffer, length, buffer.length - length)) != -1)
+			{
+				length += read;
+				if (length == buffer.length)
+				{
+					buffer = Arrays.copyOf(buffer, buffer.length * 2);
+				}
+			}
+			return Arrays.copyOf(buffer, length);
+		}
+	}
+}
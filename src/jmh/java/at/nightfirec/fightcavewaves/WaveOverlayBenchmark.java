@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2026, Jordan Atwood <nightfirecat@nightfirec.at>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package at.nightfirec.fightcavewaves;
+
+import java.awt.Dimension;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+import net.runelite.client.events.ConfigChanged;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WaveOverlayBenchmark extends PluginBenchmarkState
+{
+	private final ConfigChanged configChanged = new ConfigChanged();
+	private BufferedImage image;
+	private Graphics2D graphics;
+
+	@Param({"PANEL", "DIRECT"})
+	String renderer;
+
+	@Setup
+	public void setUpGraphics()
+	{
+		configChanged.setGroup(FightCaveWavesConfig.GROUP);
+		directRendering = "DIRECT".equals(renderer);
+		plugin.onConfigChanged(configChanged);
+		image = new BufferedImage(256, 512, BufferedImage.TYPE_INT_ARGB);
+		graphics = image.createGraphics();
+	}
+
+	@TearDown
+	public void tearDownGraphics()
+	{
+		graphics.dispose();
+	}
+
+	@Benchmark
+	public Dimension render()
+	{
+		return waveOverlay.render(graphics);
+	}
+
+	/**
+	 * Renders a frame after a config change, which republishes the config snapshot and so invalidates the overlay's
+	 * component cache. This includes the cost of rebuilding the snapshot, which a wave change does not pay.
+	 */
+	@Benchmark
+	public Dimension renderAfterStateChange()
+	{
+		plugin.onConfigChanged(configChanged);
+		return waveOverlay.render(graphics);
+	}
+}
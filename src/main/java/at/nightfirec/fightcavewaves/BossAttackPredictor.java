@@ -0,0 +1,314 @@
+/*
+ * Copyright (c) 2026, Jordan Atwood <nightfirecat@nightfirec.at>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package at.nightfirec.fightcavewaves;
+
+import java.util.Arrays;
+import javax.annotation.Nullable;
+import javax.inject.Singleton;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import net.runelite.api.AnimationID;
+
+/**
+ * Predicts the attacks of TzTok-Jad, JalTok-Jad, and TzKal-Zuk from their attack animations. Each tracked boss's recent
+ * attack ticks are kept in a fixed-size ring buffer, from which its attack interval and the ticks until its next attack
+ * are derived.
+ * <p>
+ * At most {@link #MAX_TRACKED} bosses are ever alive at once (the Inferno's triple Jad wave), so all tracking state is
+ * preallocated in primitive arrays indexed by tracker slot, and neither {@link #onTick(int)} nor any other event handler
+ * allocates. All methods are called on the client thread.
+ */
+@Singleton
+class BossAttackPredictor
+{
+	static final int MAX_TRACKED = 3;
+	static final int UNKNOWN = -1;
+	// TzKal-Zuk's attack animation, which has no entry in net.runelite.api.AnimationID
+	static final int TZKAL_ZUK_ATTACK_ANIMATION = 7566;
+
+	// The number of recent attacks whose intervals are used to estimate a boss's attack speed
+	private static final int HISTORY_SIZE = 8;
+	private static final int FREE = -1;
+
+	@RequiredArgsConstructor
+	@Getter(AccessLevel.PACKAGE)
+	enum Boss
+	{
+		TZTOK_JAD("Jad", FightCaveMonster.TZTOK_JAD, 8,
+			AnimationID.TZTOK_JAD_MAGIC_ATTACK, AnimationID.TZTOK_JAD_RANGE_ATTACK, AnimationID.TZTOK_JAD_MELEE_ATTACK),
+		JALTOK_JAD("Jad", InfernoMonster.JALTOK_JAD, 8,
+			AnimationID.JALTOK_JAD_MAGE_ATTACK, AnimationID.JALTOK_JAD_RANGE_ATTACK, AnimationID.JALTOK_JAD_MELEE_ATTACK),
+		// Zuk's attacks have no prayable style, so only its attack animation is recognised
+		TZKAL_ZUK("Zuk", InfernoMonster.TZKAL_ZUK, 10, UNKNOWN, UNKNOWN, UNKNOWN),
+		;
+
+		private static final Boss[] VALUES = values();
+
+		private final String name;
+		private final WaveMonster monster;
+		/**
+		 * The boss's attack speed in ticks, used until its attacks have been observed
+		 */
+		private final int attackSpeed;
+		private final int magicAnimation;
+		private final int rangedAnimation;
+		private final int meleeAnimation;
+
+		@Nullable
+		AttackStyle styleOf(final int animation)
+		{
+			if (animation == UNKNOWN)
+			{
+				return null;
+			}
+			if (animation == magicAnimation)
+			{
+				return AttackStyle.MAGIC;
+			}
+			if (animation == rangedAnimation)
+			{
+				return AttackStyle.RANGED;
+			}
+			if (animation == meleeAnimation)
+			{
+				return AttackStyle.MELEE;
+			}
+			if (this == TZKAL_ZUK && animation == TZKAL_ZUK_ATTACK_ANIMATION)
+			{
+				return AttackStyle.TYPELESS;
+			}
+			return null;
+		}
+
+		@Nullable
+		static Boss forNpcId(final int npcId)
+		{
+			for (final Boss boss : VALUES)
+			{
+				for (final int id : boss.monster.getNpcIds())
+				{
+					if (id == npcId)
+					{
+						return boss;
+					}
+				}
+			}
+			return null;
+		}
+	}
+
+	// Per-slot state. A slot is in use while its npcIndex is not FREE.
+	private final int[] npcIndex = new int[MAX_TRACKED];
+	private final Boss[] boss = new Boss[MAX_TRACKED];
+	private final AttackStyle[] lastStyle = new AttackStyle[MAX_TRACKED];
+	private final int[] attackTicks = new int[MAX_TRACKED * HISTORY_SIZE];
+	// the number of attacks recorded in each slot's ring, up to HISTORY_SIZE
+	private final int[] attackCount = new int[MAX_TRACKED];
+	// the ring index of each slot's most recent attack
+	private final int[] newestAttack = new int[MAX_TRACKED];
+	private final int[] ticksUntilAttack = new int[MAX_TRACKED];
+
+	@Getter
+	private int trackedCount;
+
+	BossAttackPredictor()
+	{
+		reset();
+	}
+
+	/**
+	 * Starts tracking a spawned NPC if it is one of the caves' bosses.
+	 *
+	 * @return {@code true} if the NPC is now tracked
+	 */
+	boolean spawned(final int index, final int npcId)
+	{
+		final Boss spawnedBoss = Boss.forNpcId(npcId);
+		if (spawnedBoss == null || slotOf(index) != FREE)
+		{
+			return false;
+		}
+
+		final int slot = slotOf(FREE);
+		if (slot == FREE)
+		{
+			return false;
+		}
+
+		npcIndex[slot] = index;
+		boss[slot] = spawnedBoss;
+		lastStyle[slot] = null;
+		attackCount[slot] = 0;
+		newestAttack[slot] = 0;
+		ticksUntilAttack[slot] = UNKNOWN;
+		trackedCount++;
+		return true;
+	}
+
+	/**
+	 * @return {@code true} if the NPC was tracked
+	 */
+	boolean despawned(final int index)
+	{
+		final int slot = slotOf(index);
+		if (slot == FREE)
+		{
+			return false;
+		}
+
+		npcIndex[slot] = FREE;
+		boss[slot] = null;
+		trackedCount--;
+		return true;
+	}
+
+	/**
+	 * Records an attack if the given animation is a tracked boss's attack animation.
+	 *
+	 * @return {@code true} if an attack was recorded
+	 */
+	boolean animationChanged(final int index, final int animation, final int tick)
+	{
+		final int slot = slotOf(index);
+		if (slot == FREE)
+		{
+			return false;
+		}
+
+		final AttackStyle style = boss[slot].styleOf(animation);
+		if (style == null)
+		{
+			return false;
+		}
+
+		final int next = attackCount[slot] == 0 ? 0 : (newestAttack[slot] + 1) % HISTORY_SIZE;
+		attackTicks[slot * HISTORY_SIZE + next] = tick;
+		newestAttack[slot] = next;
+		attackCount[slot] = Math.min(attackCount[slot] + 1, HISTORY_SIZE);
+		lastStyle[slot] = style;
+		updateTicksUntilAttack(slot, tick);
+		return true;
+	}
+
+	/**
+	 * Updates the ticks until each tracked boss's next attack.
+	 */
+	void onTick(final int tick)
+	{
+		for (int slot = 0; slot < MAX_TRACKED; slot++)
+		{
+			if (npcIndex[slot] != FREE)
+			{
+				updateTicksUntilAttack(slot, tick);
+			}
+		}
+	}
+
+	/**
+	 * @return The boss tracked in the given slot, or {@code null} if the slot is not in use
+	 */
+	@Nullable
+	Boss getBoss(final int slot)
+	{
+		return boss[slot];
+	}
+
+	/**
+	 * @return The style of the given slot's most recent attack, or {@code null} if it has not yet attacked
+	 */
+	@Nullable
+	AttackStyle getLastStyle(final int slot)
+	{
+		return lastStyle[slot];
+	}
+
+	/**
+	 * @return The number of ticks until the given slot's next attack, or {@link #UNKNOWN} if it has not yet attacked
+	 */
+	int getTicksUntilAttack(final int slot)
+	{
+		return ticksUntilAttack[slot];
+	}
+
+	/**
+	 * @return The given slot's attack interval, being the shortest interval between its recorded attacks. Bosses attack
+	 *         at a fixed speed and only ever pause between attacks, so the shortest interval is the most accurate.
+	 */
+	int getAttackInterval(final int slot)
+	{
+		final int count = attackCount[slot];
+		int interval = Integer.MAX_VALUE;
+		int later = newestAttack[slot];
+		for (int i = 1; i < count; i++)
+		{
+			final int earlier = (later + HISTORY_SIZE - 1) % HISTORY_SIZE;
+			final int ticks = attackTicks[slot * HISTORY_SIZE + later] - attackTicks[slot * HISTORY_SIZE + earlier];
+			if (ticks > 0)
+			{
+				interval = Math.min(interval, ticks);
+			}
+			later = earlier;
+		}
+
+		return interval == Integer.MAX_VALUE ? boss[slot].getAttackSpeed() : interval;
+	}
+
+	void reset()
+	{
+		Arrays.fill(npcIndex, FREE);
+		Arrays.fill(boss, null);
+		Arrays.fill(lastStyle, null);
+		Arrays.fill(attackCount, 0);
+		Arrays.fill(newestAttack, 0);
+		Arrays.fill(ticksUntilAttack, UNKNOWN);
+		trackedCount = 0;
+	}
+
+	private void updateTicksUntilAttack(final int slot, final int tick)
+	{
+		if (attackCount[slot] == 0)
+		{
+			ticksUntilAttack[slot] = UNKNOWN;
+			return;
+		}
+
+		final int lastAttack = attackTicks[slot * HISTORY_SIZE + newestAttack[slot]];
+		// An overdue attack is shown as imminent rather than counting below zero
+		ticksUntilAttack[slot] = Math.max(0, lastAttack + getAttackInterval(slot) - tick);
+	}
+
+	private int slotOf(final int index)
+	{
+		for (int slot = 0; slot < MAX_TRACKED; slot++)
+		{
+			if (npcIndex[slot] == index)
+			{
+				return slot;
+			}
+		}
+		return FREE;
+	}
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2026, Jordan Atwood <nightfirecat@nightfirec.at>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package at.nightfirec.fightcavewaves;
+
+import javax.annotation.Nullable;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+/**
+ * An immutable snapshot of the player's progress through a cave run. Each state transition returns a new snapshot with
+ * an incremented {@link #version}, which the plugin publishes through a single atomic reference, so readers on any
+ * thread see a consistent cave, wave, and pause state without locking.
+ */
+@Value
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+class CaveRunState
+{
+	static final CaveRunState INITIAL = new CaveRunState(null, -1, false, 0);
+
+	/**
+	 * The cave in which the current run's waves were started, or {@code null} if no run is in progress
+	 */
+	@Nullable
+	CaveType cave;
+	/**
+	 * The most recently started wave number, or {@code -1} if no run is in progress
+	 */
+	int wave;
+	boolean paused;
+	/**
+	 * Incremented by every transition, allowing consumers to reuse anything built from a previous snapshot until this
+	 * value moves.
+	 */
+	int version;
+
+	CaveRunState waveStarted(final CaveType cave, final int wave)
+	{
+		return new CaveRunState(cave, wave, false, version + 1);
+	}
+
+	/**
+	 * Advances to the next wave after an Inferno wave completion message. The Inferno does not announce its wave starts,
+	 * so this is how its wave number advances after the first wave.
+	 */
+	CaveRunState infernoWaveCompleted()
+	{
+		if (cave != CaveType.INFERNO)
+		{
+			return this;
+		}
+
+		return new CaveRunState(cave, wave + 1, paused, version + 1);
+	}
+
+	CaveRunState pause()
+	{
+		return new CaveRunState(cave, wave, true, version + 1);
+	}
+
+	CaveRunState reset()
+	{
+		return new CaveRunState(null, -1, false, version + 1);
+	}
+
+	/**
+	 * @return A copy of this state with only its version incremented, for changes outside of this state which should
+	 *         still invalidate anything built from it
+	 */
+	CaveRunState nextVersion()
+	{
+		return new CaveRunState(cave, wave, paused, version + 1);
+	}
+
+	/**
+	 * @return The wave number to display. A paused Inferno run has already counted the wave it will resume on, so its
+	 *         displayed wave is the one before it.
+	 */
+	int getDisplayedWave()
+	{
+		if (cave == CaveType.INFERNO && paused)
+		{
+			return wave - 1;
+		}
+
+		return wave;
+	}
+
+	@Nullable
+	WaveTable getWaves()
+	{
+		return cave == null ? null : WaveTables.forCave(cave);
+	}
+}
@@ -24,8 +24,23 @@
  */
 package at.nightfirec.fightcavewaves;
 
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
 public enum CaveType
 {
-	FIGHT_CAVE,
-	INFERNO,
+	FIGHT_CAVE("Fight Caves", WaveMonsterType.JAD),
+	INFERNO("Inferno", WaveMonsterType.ZUK),
+	;
+
+	@Getter(AccessLevel.PACKAGE)
+	private final String name;
+
+	/**
+	 * The type of the cave's final boss
+	 */
+	@Getter(AccessLevel.PACKAGE)
+	private final WaveMonsterType bossType;
 }
@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2026, Jordan Atwood <nightfirecat@nightfirec.at>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package at.nightfirec.fightcavewaves;
+
+/**
+ * Classifies game messages received within the caves in a single pass over the message, without allocating.
+ * <p>
+ * {@link #classify(String)} returns either a non-negative wave number for wave start messages, or one of the negative
+ * message type constants declared here.
+ */
+final class ChatMessageClassifier
+{
+	static final int IRRELEVANT = -1;
+	static final int INFERNO_WAVE_COMPLETE = -2;
+	static final int PAUSED = -3;
+	static final int RUN_COMPLETE = -4;
+
+	private static final int FIRST_WAVE = 1;
+
+	private static final String WAVE_START_PREFIX = "Wave: ";
+	private static final String INFERNO_WAVE_COMPLETE_MESSAGE = "Wave completed!";
+	private static final String FIGHT_CAVE_PAUSED_SUFFIX = "The Fight Cave has been paused. You may now log out.";
+	private static final String INFERNO_PAUSED_SUFFIX = "The Inferno has been paused. You may now log out.";
+	private static final String JAD_KILL_COUNT_PREFIX = "Your TzTok-Jad kill count is";
+	private static final String ZUK_KILL_COUNT_PREFIX = "Your TzKal-Zuk kill count is";
+
+	private ChatMessageClassifier()
+	{
+	}
+
+	/**
+	 * Classifies the given game message.
+	 * <ul>
+	 *     <li>Wave start messages contain {@code "Wave: N"}. Where there are several, the last is used.</li>
+	 *     <li>Inferno wave completion messages are exactly {@code "Wave completed!"}.</li>
+	 *     <li>Pause messages end with the cave's pause notice, preceded by at least one other character (the message's
+	 *     color tag).</li>
+	 *     <li>Run completion messages are the final boss's kill count message.</li>
+	 * </ul>
+	 * Messages spanning multiple lines, or whose wave number does not fit in an {@code int}, are irrelevant.
+	 *
+	 * @param message The game message to classify
+	 * @return The started wave number, or one of {@link #IRRELEVANT}, {@link #INFERNO_WAVE_COMPLETE}, {@link #PAUSED}
+	 *         or {@link #RUN_COMPLETE}
+	 */
+	static int classify(final String message)
+	{
+		if (INFERNO_WAVE_COMPLETE_MESSAGE.equals(message))
+		{
+			return INFERNO_WAVE_COMPLETE;
+		}
+
+		if (message.startsWith(JAD_KILL_COUNT_PREFIX) || message.startsWith(ZUK_KILL_COUNT_PREFIX))
+		{
+			return RUN_COMPLETE;
+		}
+
+		final int length = message.length();
+		int waveNumber = IRRELEVANT;
+
+		for (int i = 0; i < length; i++)
+		{
+			final char c = message.charAt(i);
+
+			if (isLineTerminator(c))
+			{
+				return IRRELEVANT;
+			}
+
+			if (c == 'W' && message.startsWith(WAVE_START_PREFIX, i))
+			{
+				final int parsed = parseWaveNumber(message, i + WAVE_START_PREFIX.length());
+				if (parsed != IRRELEVANT)
+				{
+					waveNumber = parsed;
+				}
+			}
+		}
+
+		if (endsWithPauseNotice(message, FIGHT_CAVE_PAUSED_SUFFIX)
+			|| endsWithPauseNotice(message, INFERNO_PAUSED_SUFFIX))
+		{
+			return PAUSED;
+		}
+
+		return waveNumber;
+	}
+
+	static boolean isWaveStart(final int messageType)
+	{
+		return messageType >= 0;
+	}
+
+	/**
+	 * @return Whether the given message type is the start of a cave's first wave, which begins a new run
+	 */
+	static boolean isRunStart(final int messageType)
+	{
+		return messageType == FIRST_WAVE;
+	}
+
+	private static int parseWaveNumber(final String message, final int start)
+	{
+		final int length = message.length();
+		int value = 0;
+		int i = start;
+
+		for (; i < length; i++)
+		{
+			final int digit = message.charAt(i) - '0';
+			if (digit < 0 || digit > 9)
+			{
+				break;
+			}
+
+			if (value > (Integer.MAX_VALUE - digit) / 10)
+			{
+				return IRRELEVANT;
+			}
+
+			value = value * 10 + digit;
+		}
+
+		return i == start ? IRRELEVANT : value;
+	}
+
+	private static boolean endsWithPauseNotice(final String message, final String suffix)
+	{
+		return message.length() > suffix.length() && message.endsWith(suffix);
+	}
+
+	private static boolean isLineTerminator(final char c)
+	{
+		return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+	}
+}
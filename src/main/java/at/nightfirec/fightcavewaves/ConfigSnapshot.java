@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2026, Jordan Atwood <nightfirecat@nightfirec.at>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package at.nightfirec.fightcavewaves;
+
+import lombok.Value;
+
+/**
+ * An immutable copy of the plugin's config values. Reading config values through the config proxy is relatively
+ * expensive, so render and event code reads these instead, and a new snapshot is published whenever the plugin's config
+ * changes.
+ */
+@Value
+class ConfigSnapshot
+{
+	WaveDisplayMode waveDisplay;
+	int lookaheadDepth;
+	boolean commonNames;
+	boolean showMonsterLevel;
+	boolean showSummary;
+	boolean showAliveCounts;
+	boolean showBossAttacks;
+	boolean showSplitTimer;
+	boolean showPersonalBest;
+	boolean showSidePanel;
+	boolean directRendering;
+	boolean recordRuns;
+	boolean debugMetrics;
+
+	static ConfigSnapshot of(final FightCaveWavesConfig config)
+	{
+		return new ConfigSnapshot(
+			config.waveDisplay(),
+			config.lookaheadDepth(),
+			config.commonNames(),
+			config.showMonsterLevel(),
+			config.showSummary(),
+			config.showAliveCounts(),
+			config.showBossAttacks(),
+			config.showSplitTimer(),
+			config.showPersonalBest(),
+			config.showSidePanel(),
+			config.directRendering(),
+			config.recordRuns(),
+			config.debugMetrics());
+	}
+}
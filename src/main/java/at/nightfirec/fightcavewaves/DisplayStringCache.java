@@ -0,0 +1,221 @@
+/*
+ * Copyright (c) 2026, Jordan Atwood <nightfirecat@nightfirec.at>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package at.nightfirec.fightcavewaves;
+
+import javax.annotation.Nullable;
+import javax.inject.Singleton;
+import net.runelite.client.util.Text;
+
+/**
+ * Caches every monster line and wave header the overlay can display, so that rendering never formats or concatenates
+ * strings. Each cave's strings are built the first time they are requested, and are discarded whenever a new config
+ * snapshot is published.
+ */
+@Singleton
+class DisplayStringCache
+{
+	static final String NEXT_WAVE_HEADER = "Next wave";
+
+	// alive/total strings for the quantities any wave can contain, indexed by [total][alive]
+	private static final String[][] ALIVE_COUNTS = new String[16][];
+	// boss attack strings, indexed by [style ordinal][ticks until attack]
+	private static final String[][] ATTACK_TEXT = new String[AttackStyle.values().length][32];
+	// numbered boss labels for waves with several bosses, indexed by [boss ordinal][tracker slot]
+	private static final String[][] BOSS_LABELS = new String[BossAttackPredictor.Boss.values().length][BossAttackPredictor.MAX_TRACKED];
+	static final String AWAITING_ATTACK = "Waiting";
+
+	static
+	{
+		for (int total = 0; total < ALIVE_COUNTS.length; total++)
+		{
+			ALIVE_COUNTS[total] = new String[total + 1];
+			for (int alive = 0; alive <= total; alive++)
+			{
+				ALIVE_COUNTS[total][alive] = alive + "/" + total;
+			}
+		}
+
+		for (final AttackStyle style : AttackStyle.values())
+		{
+			final String[] text = ATTACK_TEXT[style.ordinal()];
+			text[0] = style.getName() + " now";
+			for (int ticks = 1; ticks < text.length; ticks++)
+			{
+				text[ticks] = style.getName() + " in " + ticks;
+			}
+		}
+
+		for (final BossAttackPredictor.Boss boss : BossAttackPredictor.Boss.values())
+		{
+			for (int slot = 0; slot < BossAttackPredictor.MAX_TRACKED; slot++)
+			{
+				BOSS_LABELS[boss.ordinal()][slot] = boss.getName() + " " + (slot + 1);
+			}
+		}
+	}
+
+	private volatile ConfigSnapshot config;
+
+	// indexed by cave ordinal, replaced wholesale when the config changes
+	private volatile CaveStrings[] caveStrings = new CaveStrings[CaveType.values().length];
+
+	/**
+	 * Discards all cached strings, building any future strings using the given config.
+	 */
+	void reset(final ConfigSnapshot config)
+	{
+		// The config is published before the new array, so strings cached into the new array always use the new config
+		this.config = config;
+		caveStrings = new CaveStrings[CaveType.values().length];
+	}
+
+	/**
+	 * @return The overlay line for the given quantity of the given monster, e.g. {@code "2x Tz-Kih - Level 22"}
+	 */
+	String monsterLine(final CaveType cave, final WaveMonster monster, final int quantity)
+	{
+		return forCave(cave).monsterLines[monster.ordinal()][quantity];
+	}
+
+	/**
+	 * @return The number of a wave's monsters still alive out of the wave's total, e.g. {@code "1/2"}
+	 */
+	static String aliveCount(final int alive, final int total)
+	{
+		if (total < ALIVE_COUNTS.length && alive <= total)
+		{
+			return ALIVE_COUNTS[total][alive];
+		}
+
+		// More monsters than a wave spawns can only be seen if a despawn was missed
+		return alive + "/" + total;
+	}
+
+	/**
+	 * @return The text for a boss's last attack style and the ticks until its next attack, e.g. {@code "Magic in 3"}
+	 */
+	static String attackText(final AttackStyle style, final int ticks)
+	{
+		final String[] text = ATTACK_TEXT[style.ordinal()];
+		if (ticks < text.length)
+		{
+			return text[ticks];
+		}
+
+		return style.getName() + " in " + ticks;
+	}
+
+	/**
+	 * @return The boss's name, numbered by its tracker slot when more than one boss is tracked, e.g. {@code "Jad 2"}
+	 */
+	static String bossLabel(final BossAttackPredictor.Boss boss, final int slot, final boolean numbered)
+	{
+		return numbered ? BOSS_LABELS[boss.ordinal()][slot] : boss.getName();
+	}
+
+	/**
+	 * @return The overlay header for the given (1-based) wave number, e.g. {@code "Wave 12"}
+	 */
+	String waveHeader(final CaveType cave, final int wave)
+	{
+		return forCave(cave).waveHeaders[wave - 1];
+	}
+
+	/**
+	 * @return The overlay summary line for the given (1-based) wave number, e.g. {@code "Jad in 12 waves (87 monsters)"},
+	 * or {@code null} if the wave is at or after the cave's final boss wave
+	 */
+	@Nullable
+	String summaryLine(final CaveType cave, final int wave)
+	{
+		return forCave(cave).summaryLines[wave - 1];
+	}
+
+	private CaveStrings forCave(final CaveType cave)
+	{
+		final CaveStrings[] strings = caveStrings;
+		CaveStrings cached = strings[cave.ordinal()];
+		if (cached == null)
+		{
+			final ConfigSnapshot config = this.config;
+			cached = new CaveStrings(cave, config.isCommonNames(), config.isShowMonsterLevel());
+			strings[cave.ordinal()] = cached;
+		}
+		return cached;
+	}
+
+	private static final class CaveStrings
+	{
+		// indexed by [monster ordinal][quantity]
+		private final String[][] monsterLines;
+		// indexed by wave index
+		private final String[] waveHeaders;
+		// indexed by wave index
+		private final String[] summaryLines;
+
+		CaveStrings(final CaveType cave, final boolean commonNames, final boolean showMonsterLevel)
+		{
+			final WaveTable waves = WaveTables.forCave(cave);
+			final WaveMonster[] monsters = waves.getMonsters();
+			final int[] maxQuantities = new int[monsters.length];
+			for (int waveIndex = 0; waveIndex < waves.size(); waveIndex++)
+			{
+				waves.forEachMonster(waveIndex, (monster, quantity) ->
+					maxQuantities[monster.ordinal()] = Math.max(maxQuantities[monster.ordinal()], quantity));
+			}
+
+			monsterLines = new String[monsters.length][];
+			for (WaveMonster monster : monsters)
+			{
+				final String[] lines = new String[maxQuantities[monster.ordinal()] + 1];
+				for (int quantity = 1; quantity < lines.length; quantity++)
+				{
+					lines[quantity] = FightCaveWavesPlugin.formatMonsterQuantity(monster, quantity, commonNames, showMonsterLevel);
+				}
+				monsterLines[monster.ordinal()] = lines;
+			}
+
+			waveHeaders = new String[waves.size()];
+			for (int waveIndex = 0; waveIndex < waveHeaders.length; waveIndex++)
+			{
+				waveHeaders[waveIndex] = "Wave " + (waveIndex + 1);
+			}
+
+			final WaveStatistics statistics = WaveTables.statisticsForCave(cave);
+			final String bossName = Text.titleCase(cave.getBossType());
+			summaryLines = new String[waves.size()];
+			for (int waveIndex = 0; waveIndex < statistics.getBossWaveIndex(); waveIndex++)
+			{
+				summaryLines[waveIndex] = bossName + " in " + pluralize(statistics.wavesBeforeBoss(waveIndex), "wave")
+					+ " (" + pluralize(statistics.remainingBeforeBoss(waveIndex), "monster") + ")";
+			}
+		}
+
+		private static String pluralize(final int count, final String noun)
+		{
+			return count + " " + noun + (count == 1 ? "" : "s");
+		}
+	}
+}
@@ -26,21 +26,24 @@ package at.nightfirec.fightcavewaves;
 
 import lombok.AllArgsConstructor;
 import lombok.Getter;
+import net.runelite.api.NpcID;
 
 @AllArgsConstructor
 @Getter
 enum FightCaveMonster implements WaveMonster
 {
-	TZ_KIH("Tz-Kih", WaveMonsterType.BAT, 22),
-	TZ_KEK("Tz-Kek", WaveMonsterType.BLOB, 45),
-	TOK_XIL("Tok-Xil", WaveMonsterType.RANGER, 90),
-	YT_MEJKOT("Yt-MejKot", WaveMonsterType.MELEE, 180),
-	KET_ZEK("Ket-Zek", WaveMonsterType.MAGE, 360),
-	TZTOK_JAD("TzTok-Jad", WaveMonsterType.JAD, 702);
+	TZ_KIH("Tz-Kih", WaveMonsterType.BAT, 22, new int[]{NpcID.TZKIH_3116, NpcID.TZKIH_3117}),
+	// TZKEK_3120 is the smaller Tz-Kek which splits from a killed Tz-Kek, and is not a wave spawn
+	TZ_KEK("Tz-Kek", WaveMonsterType.BLOB, 45, new int[]{NpcID.TZKEK_3118, NpcID.TZKEK_3119}),
+	TOK_XIL("Tok-Xil", WaveMonsterType.RANGER, 90, new int[]{NpcID.TOKXIL_3121, NpcID.TOKXIL_3122}),
+	YT_MEJKOT("Yt-MejKot", WaveMonsterType.MELEE, 180, new int[]{NpcID.YTMEJKOT, NpcID.YTMEJKOT_3124}),
+	KET_ZEK("Ket-Zek", WaveMonsterType.MAGE, 360, new int[]{NpcID.KETZEK, NpcID.KETZEK_3126}),
+	TZTOK_JAD("TzTok-Jad", WaveMonsterType.JAD, 702, new int[]{NpcID.TZTOKJAD});
 
 	private final String name;
 	private final WaveMonsterType type;
 	private final int level;
+	private final int[] npcIds;
 
 	@Override
 	public int getCountPerSpawn()
@@ -27,10 +27,13 @@ package at.nightfirec.fightcavewaves;
 import net.runelite.client.config.Config;
 import net.runelite.client.config.ConfigGroup;
 import net.runelite.client.config.ConfigItem;
+import net.runelite.client.config.Range;
 
-@ConfigGroup("fightcavewaves")
+@ConfigGroup(FightCaveWavesConfig.GROUP)
 public interface FightCaveWavesConfig extends Config
 {
+	String GROUP = "fightcavewaves";
+
 	@ConfigItem(
 		keyName = "waveDisplay",
 		name = "Wave display",
@@ -41,6 +44,20 @@ public interface FightCaveWavesConfig extends Config
 		return WaveDisplayMode.BOTH;
 	}
 
+	@Range(
+		min = 1,
+		max = 10
+	)
+	@ConfigItem(
+		keyName = "lookaheadDepth",
+		name = "Lookahead depth",
+		description = "The number of upcoming waves shown after the current wave when using the 'Lookahead' wave display."
+	)
+	default int lookaheadDepth()
+	{
+		return 5;
+	}
+
 	@ConfigItem(
 		keyName = "commonNames",
 		name = "Use common names",
@@ -60,4 +77,95 @@ public interface FightCaveWavesConfig extends Config
 	{
 		return true;
 	}
+
+	@ConfigItem(
+		keyName = "showSummary",
+		name = "Show boss summary",
+		description = "Show how many waves and monsters remain before the Jad or Zuk wave"
+	)
+	default boolean showSummary()
+	{
+		return false;
+	}
+
+	@ConfigItem(
+		keyName = "showAliveCounts",
+		name = "Show alive monsters",
+		description = "Show how many of each of the current wave's monsters are still alive, as 'alive/total'"
+	)
+	default boolean showAliveCounts()
+	{
+		return false;
+	}
+
+	@ConfigItem(
+		keyName = "showBossAttacks",
+		name = "Show boss attacks",
+		description = "Show the style of each Jad's or Zuk's last attack and the ticks until its next attack"
+	)
+	default boolean showBossAttacks()
+	{
+		return false;
+	}
+
+	@ConfigItem(
+		keyName = "showSplitTimer",
+		name = "Show split timer",
+		description = "Show the time spent on the current wave and the current run"
+	)
+	default boolean showSplitTimer()
+	{
+		return false;
+	}
+
+	@ConfigItem(
+		keyName = "showPersonalBest",
+		name = "Compare to personal best",
+		description = "Show how far ahead of or behind your personal best splits you were at the start of the current wave. Requires the split timer."
+	)
+	default boolean showPersonalBest()
+	{
+		return false;
+	}
+
+	@ConfigItem(
+		keyName = "showSidePanel",
+		name = "Show side panel",
+		description = "Add a side panel listing every wave of the current cave, with the current wave highlighted"
+	)
+	default boolean showSidePanel()
+	{
+		return true;
+	}
+
+	@ConfigItem(
+		keyName = "directRendering",
+		name = "Direct rendering",
+		description = "Draw the overlay's text directly instead of through generic overlay components. Long lines widen the overlay rather than wrapping."
+	)
+	default boolean directRendering()
+	{
+		return false;
+	}
+
+	@ConfigItem(
+		keyName = "recordRuns",
+		name = "Record runs",
+		description = "Record the waves, pauses and game state changes of each run to the .runelite/fight-cave-waves/runs folder"
+	)
+	default boolean recordRuns()
+	{
+		return false;
+	}
+
+	@ConfigItem(
+		keyName = "debugMetrics",
+		name = "Debug metrics",
+		description = "Show per-call timings and allocations for the plugin's hot paths",
+		hidden = true
+	)
+	default boolean debugMetrics()
+	{
+		return false;
+	}
 }
@@ -25,27 +25,34 @@
 package at.nightfirec.fightcavewaves;
 
 import com.google.common.annotations.VisibleForTesting;
-import com.google.common.collect.ImmutableMap;
 import com.google.inject.Provides;
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.atomic.AtomicReference;
 import javax.annotation.Nullable;
 import javax.inject.Inject;
+import javax.inject.Provider;
 import lombok.Getter;
 import net.runelite.api.ChatMessageType;
 import net.runelite.api.Client;
+import net.runelite.api.GameState;
+import net.runelite.api.NPC;
+import net.runelite.api.events.AnimationChanged;
 import net.runelite.api.events.ChatMessage;
+import net.runelite.api.events.GameTick;
 import net.runelite.api.events.GameStateChanged;
+import net.runelite.api.events.NpcDespawned;
+import net.runelite.api.events.NpcSpawned;
+import net.runelite.client.callback.ClientThread;
 import net.runelite.client.config.ConfigManager;
 import net.runelite.client.eventbus.Subscribe;
+import net.runelite.client.events.ConfigChanged;
 import net.runelite.client.plugins.Plugin;
 import net.runelite.client.plugins.PluginDescriptor;
+import net.runelite.client.ui.ClientToolbar;
+import net.runelite.client.ui.NavigationButton;
 import net.runelite.client.ui.overlay.OverlayManager;
-import org.apache.commons.lang3.ArrayUtils;
+import net.runelite.client.util.ImageUtil;
+import net.runelite.client.util.SwingUtil;
 
 @PluginDescriptor(
 	name = "Fight Cave Waves",
@@ -54,36 +61,45 @@ import org.apache.commons.lang3.ArrayUtils;
 )
 public class FightCaveWavesPlugin extends Plugin
 {
-	private static final Pattern WAVE_PATTERN = Pattern.compile(".*Wave: (\\d+).*");
-	private static final String INFERNO_WAVE_COMPLETE = "Wave completed!";
-	private static final Pattern PAUSE_PATTERN = Pattern.compile(".+The (?:Fight Cave|Inferno) has been paused\\. You may now log out\\.");
 	@VisibleForTesting
 	static final int FIGHT_CAVE_REGION = 9551;
 	@VisibleForTesting
 	static final int INFERNO_REGION = 9043;
-	private static final int MAX_MONSTER_SPAWNS_PER_WAVE = 2;
 
 	@VisibleForTesting
 	static final int MAX_FIGHT_CAVE_WAVE = 63;
 	@VisibleForTesting
 	static final int MAX_INFERNO_WAVE = 69;
 
+	/**
+	 * The current run's state. Its version is incremented whenever any state which affects the overlay's contents
+	 * changes, allowing it to reuse its previously built components until the version moves. Run transitions replace
+	 * it on the client thread, but config changes also bump its version from whichever thread posts them, so every
+	 * replacement is made with {@link AtomicReference#updateAndGet} to avoid losing a concurrent one.
+	 */
+	private final AtomicReference<CaveRunState> runState = new AtomicReference<>(CaveRunState.INITIAL);
+
+	/**
+	 * Incremented on each game tick on which the overlay shows per-tick values, such as timers. This is kept apart from
+	 * the run state so that refreshing those values does not allocate a new run state every tick.
+	 */
 	@Getter
-	static final List<Map<WaveMonster, Integer>> FIGHT_CAVE_WAVES = new ArrayList<>();
+	private volatile int tickRefreshes;
 
 	@Getter
-	static final List<Map<WaveMonster, Integer>> INFERNO_WAVES = new ArrayList<>();
+	private volatile ConfigSnapshot configSnapshot;
 
-	private int currentWave = -1;
+	private NavigationButton navigationButton;
+	private boolean navigationButtonAdded;
 
-	@Getter
-	private boolean paused;
+	@Inject
+	private Client client;
 
-	@Nullable
-	private CaveType activeCave;
+	@Inject
+	private ClientThread clientThread;
 
 	@Inject
-	private Client client;
+	private FightCaveWavesConfig config;
 
 	@Inject
 	private OverlayManager overlayManager;
@@ -91,10 +107,51 @@ public class FightCaveWavesPlugin extends Plugin
 	@Inject
 	private WaveOverlay waveOverlay;
 
-	static
+	@Inject
+	private RegionTracker regionTracker;
+
+	@Inject
+	private DisplayStringCache displayStringCache;
+
+	@Inject
+	private PluginMetrics metrics;
+
+	@Inject
+	private MetricsOverlay metricsOverlay;
+
+	@Inject
+	private RunRecorder runRecorder;
+
+	@Inject
+	private WaveSplitTimer splitTimer;
+
+	@Inject
+	private PersonalBestSplits personalBests;
+
+	@Inject
+	private NpcTracker npcTracker;
+
+	@Inject
+	private BossAttackPredictor bossAttackPredictor;
+
+	@Inject
+	private ClientToolbar clientToolbar;
+
+	@Inject
+	private Provider<WavePanel> wavePanelProvider;
+
+	// Built on the Swing EDT when the plugin starts rather than when it is injected, and null until then
+	@Nullable
+	private volatile WavePanel wavePanel;
+
+	/**
+	 * Called by Guice once the plugin's fields have been injected, so that the config snapshot is never null, even for
+	 * events delivered before {@link #startUp()} publishes a snapshot of its own.
+	 */
+	@Inject
+	private void initConfigSnapshot()
 	{
-		initializeFightCaveMonsters();
-		initializeInfernoMonsters();
+		configSnapshot = ConfigSnapshot.of(config);
 	}
 
 	@Provides
@@ -104,223 +161,388 @@ public class FightCaveWavesPlugin extends Plugin
 	}
 
 	@Override
-	public void startUp()
+	public void startUp() throws Exception
 	{
+		publishConfigSnapshot();
+		personalBests.load();
 		overlayManager.add(waveOverlay);
+		overlayManager.add(metricsOverlay);
+
+		SwingUtil.syncExec(() -> wavePanel = wavePanelProvider.get());
+		final BufferedImage icon = ImageUtil.loadImageResource(getClass(), "panel_icon.png");
+		navigationButton = NavigationButton.builder()
+			.tooltip("Fight Cave Waves")
+			.icon(icon)
+			.priority(8)
+			.panel(wavePanel)
+			.build();
+		updateNavigationButton();
+		updatePanel(configSnapshot);
+
+		if (client.getGameState() == GameState.LOGGED_IN)
+		{
+			clientThread.invoke(regionTracker::update);
+		}
 	}
 
 	@Override
 	public void shutDown()
 	{
 		overlayManager.remove(waveOverlay);
+		overlayManager.remove(metricsOverlay);
+		if (navigationButtonAdded)
+		{
+			clientToolbar.removeNavigation(navigationButton);
+			navigationButtonAdded = false;
+		}
+		metrics.setEnabled(false);
+		runRecorder.setRecording(false);
+		regionTracker.reset();
 		resetWaves();
 	}
 
 	@Subscribe
 	public void onGameStateChanged(GameStateChanged event)
 	{
+		if (metrics.isEnabled())
+		{
+			metrics.start(PluginMetrics.Probe.GAME_STATE_CHANGED);
+			try
+			{
+				handleGameStateChanged(event);
+			}
+			finally
+			{
+				metrics.stop(PluginMetrics.Probe.GAME_STATE_CHANGED);
+			}
+			return;
+		}
+
+		handleGameStateChanged(event);
+	}
+
+	private void handleGameStateChanged(final GameStateChanged event)
+	{
+		record(RunEventType.GAME_STATE, event.getGameState().getState());
+
 		switch(event.getGameState())
 		{
+			case LOADING:
+				regionTracker.update();
+				recordRegion();
+				break;
 			case LOGGED_IN:
-				if (!inFightCave() && !inInferno())
+				regionTracker.update();
+				recordRegion();
+				if (regionTracker.getCurrentCave() == null)
 				{
 					resetWaves();
 				}
+				else
+				{
+					// Build the cave's wave table now rather than when its first wave is about to be displayed
+					WaveTables.forCave(regionTracker.getCurrentCave());
+				}
 				break;
 			case LOGIN_SCREEN:
+				regionTracker.reset();
+				recordRegion();
 				resetWaves();
 				break;
 		}
 	}
 
 	@Subscribe
-	public void onChatMessage(ChatMessage event)
+	public void onGameTick(GameTick event)
 	{
-		if (event.getType() != ChatMessageType.GAMEMESSAGE
-			|| !(inFightCave() || inInferno()))
+		if (metrics.isEnabled())
 		{
+			metrics.start(PluginMetrics.Probe.GAME_TICK);
+			try
+			{
+				handleGameTick();
+			}
+			finally
+			{
+				metrics.stop(PluginMetrics.Probe.GAME_TICK);
+			}
 			return;
 		}
 
-		final String message = event.getMessage();
-		if (activeCave == CaveType.INFERNO
-			&& INFERNO_WAVE_COMPLETE.equals(message))
+		handleGameTick();
+	}
+
+	private void handleGameTick()
+	{
+		final int tick = client.getTickCount();
+		final ConfigSnapshot config = configSnapshot;
+		splitTimer.onTick(tick);
+		bossAttackPredictor.onTick(tick);
+		if ((splitTimer.isRunning() && config.isShowSplitTimer())
+			|| (bossAttackPredictor.getTrackedCount() > 0 && config.isShowBossAttacks()))
 		{
-			currentWave++;
-			return;
+			// Refreshes the overlay's timer and attack lines once per tick
+			tickRefreshes++;
 		}
 
-		final Matcher pauseMatcher = PAUSE_PATTERN.matcher(message);
-		if (pauseMatcher.matches())
+		// Does nothing unless the run state has changed since it was last posted
+		updatePanel(config);
+	}
+
+	@Subscribe
+	public void onAnimationChanged(AnimationChanged event)
+	{
+		if (bossAttackPredictor.getTrackedCount() == 0
+			|| !(event.getActor() instanceof NPC))
 		{
-			paused = true;
 			return;
 		}
 
-		final Matcher waveMatcher = WAVE_PATTERN.matcher(message);
-		if (!waveMatcher.matches())
+		final NPC npc = (NPC) event.getActor();
+		if (bossAttackPredictor.animationChanged(npc.getIndex(), npc.getAnimation(), client.getTickCount())
+			&& configSnapshot.isShowBossAttacks())
+		{
+			tickRefreshes++;
+		}
+	}
+
+	@Subscribe
+	public void onNpcSpawned(NpcSpawned event)
+	{
+		final CaveType currentCave = regionTracker.getCurrentCave();
+		final NPC npc = event.getNpc();
+		if (currentCave == null
+			|| !npcTracker.spawned(currentCave, npc.getId()))
 		{
 			return;
 		}
 
-		currentWave = Integer.parseInt(waveMatcher.group(1));
+		boolean changed = configSnapshot.isShowAliveCounts();
+		changed |= bossAttackPredictor.spawned(npc.getIndex(), npc.getId()) && configSnapshot.isShowBossAttacks();
+		if (changed)
+		{
+			runState.updateAndGet(CaveRunState::nextVersion);
+		}
+	}
 
-		if (inFightCave())
+	@Subscribe
+	public void onNpcDespawned(NpcDespawned event)
+	{
+		final CaveType currentCave = regionTracker.getCurrentCave();
+		final NPC npc = event.getNpc();
+		if (currentCave == null
+			|| !npcTracker.despawned(currentCave, npc.getId()))
 		{
-			activeCave = CaveType.FIGHT_CAVE;
+			return;
 		}
-		else
+
+		final boolean bossDespawned = bossAttackPredictor.despawned(npc.getIndex());
+		if (configSnapshot.isShowAliveCounts()
+			|| (bossDespawned && configSnapshot.isShowBossAttacks()))
 		{
-			activeCave = CaveType.INFERNO;
+			runState.updateAndGet(CaveRunState::nextVersion);
 		}
 	}
 
-	boolean inFightCave()
+	@Subscribe
+	public void onConfigChanged(ConfigChanged event)
 	{
-		return ArrayUtils.contains(client.getMapRegions(), FIGHT_CAVE_REGION);
+		if (FightCaveWavesConfig.GROUP.equals(event.getGroup()))
+		{
+			publishConfigSnapshot();
+			runState.updateAndGet(CaveRunState::nextVersion);
+			updateNavigationButton();
+			updatePanel(configSnapshot);
+		}
 	}
 
-	boolean inInferno()
+	@Subscribe
+	public void onChatMessage(ChatMessage event)
 	{
-		return ArrayUtils.contains(client.getMapRegions(), INFERNO_REGION);
+		if (metrics.isEnabled())
+		{
+			metrics.start(PluginMetrics.Probe.CHAT_MESSAGE);
+			try
+			{
+				handleChatMessage(event);
+			}
+			finally
+			{
+				metrics.stop(PluginMetrics.Probe.CHAT_MESSAGE);
+			}
+			return;
+		}
+
+		handleChatMessage(event);
 	}
 
-	@Nullable
-	List<Map<WaveMonster, Integer>> getActiveWaves()
+	private void handleChatMessage(final ChatMessage event)
 	{
-		if (activeCave == null)
+		final CaveType currentCave = regionTracker.getCurrentCave();
+		if (event.getType() != ChatMessageType.GAMEMESSAGE
+			|| currentCave == null)
 		{
-			return null;
+			return;
 		}
 
-		switch(activeCave)
+		final int messageType = ChatMessageClassifier.classify(event.getMessage());
+		final CaveRunState state = runState.get();
+		if (state.getCave() == CaveType.INFERNO
+			&& messageType == ChatMessageClassifier.INFERNO_WAVE_COMPLETE)
 		{
-			case FIGHT_CAVE:
-				return FIGHT_CAVE_WAVES;
-			case INFERNO:
-				return INFERNO_WAVES;
+			final CaveRunState next = runState.updateAndGet(CaveRunState::infernoWaveCompleted);
+			splitTimer.waveStarted(next.getWave());
+			record(RunEventType.INFERNO_WAVE_COMPLETE, next.getWave());
+			return;
 		}
-		return null;
-	}
 
-	int getCurrentWave()
-	{
-		if (activeCave == CaveType.INFERNO && paused)
+		if (messageType == ChatMessageClassifier.RUN_COMPLETE)
 		{
-			return currentWave - 1;
+			if (state.getCave() != null)
+			{
+				splitTimer.runCompleted();
+				personalBests.runCompleted(state.getCave(), splitTimer);
+				runState.updateAndGet(CaveRunState::nextVersion);
+				record(RunEventType.RUN_COMPLETE, 0);
+			}
+			return;
 		}
 
-		return currentWave;
+		if (messageType == ChatMessageClassifier.PAUSED)
+		{
+			runState.updateAndGet(CaveRunState::pause);
+			record(RunEventType.PAUSED, 0);
+			return;
+		}
+
+		if (!ChatMessageClassifier.isWaveStart(messageType))
+		{
+			return;
+		}
+
+		runState.updateAndGet(current -> current.waveStarted(currentCave, messageType));
+		splitTimer.waveStarted(messageType);
+		if (ChatMessageClassifier.isRunStart(messageType))
+		{
+			personalBests.startRun(currentCave);
+		}
+		record(RunEventType.WAVE_START, messageType);
 	}
 
-	private void resetWaves()
+	boolean inFightCave()
 	{
-		currentWave = -1;
-		activeCave = null;
-		paused = false;
+		return regionTracker.getCurrentCave() == CaveType.FIGHT_CAVE;
 	}
 
-	static String formatMonsterQuantity(final WaveMonster monster, final int quantity, final boolean commonNames, final boolean showMonsterLevel)
+	boolean inInferno()
 	{
-		return String.format("%dx %s", quantity, monster.displayString(commonNames, showMonsterLevel));
+		return regionTracker.getCurrentCave() == CaveType.INFERNO;
 	}
 
-	private static void initializeFightCaveMonsters()
+	CaveRunState getRunState()
 	{
-		final FightCaveMonster[] fightCaveMonsters = FightCaveMonster.values();
-
-		// Add wave 1, future waves are derived from its contents
-		FIGHT_CAVE_WAVES.add(ImmutableMap.of(fightCaveMonsters[0], fightCaveMonsters[0].getCountPerSpawn()));
-
-		for (int wave = 1; wave < MAX_FIGHT_CAVE_WAVE; wave++)
-		{
-			final Map<WaveMonster, Integer> prevWave = new HashMap<>(FIGHT_CAVE_WAVES.get(wave - 1));
-			int maxMonsterOrdinal = -1;
-
-			for (int i = 0; i < fightCaveMonsters.length; i++)
-			{
-				final int ordinalMonsterSpawnCount = prevWave.getOrDefault(fightCaveMonsters[i], 0) / fightCaveMonsters[i].getCountPerSpawn();
+		return runState.get();
+	}
 
-				if (ordinalMonsterSpawnCount == MAX_MONSTER_SPAWNS_PER_WAVE)
-				{
-					maxMonsterOrdinal = i;
-					break;
-				}
-			}
+	/*
+	 * The following accessors each read the run state separately, so callers needing more than one value which must be
+	 * consistent with each other should read a single snapshot from getRunState() instead.
+	 */
 
-			if (maxMonsterOrdinal >= 0)
-			{
-				prevWave.remove(fightCaveMonsters[maxMonsterOrdinal]);
-			}
+	@Nullable
+	CaveType getActiveCave()
+	{
+		return runState.get().getCave();
+	}
 
-			final int addedMonsterOrdinal = maxMonsterOrdinal >= 0 ? maxMonsterOrdinal + 1 : 0;
-			final FightCaveMonster addedMonster = fightCaveMonsters[addedMonsterOrdinal];
-			final int addedMonsterQuantity = prevWave.getOrDefault(addedMonster, 0) + addedMonster.getCountPerSpawn();
+	@Nullable
+	WaveTable getActiveWaves()
+	{
+		return runState.get().getWaves();
+	}
 
-			prevWave.put(addedMonster, addedMonsterQuantity);
+	int getCurrentWave()
+	{
+		return runState.get().getDisplayedWave();
+	}
 
-			FIGHT_CAVE_WAVES.add(prevWave);
-		}
+	boolean isPaused()
+	{
+		return runState.get().isPaused();
 	}
 
-	private static void initializeInfernoMonsters()
+	/**
+	 * @return A value which changes whenever the overlay's contents may have changed, combining the run state's version
+	 *         with the per-tick refresh count
+	 */
+	int getStateVersion()
 	{
-		final InfernoMonster[] infernoMonsters = InfernoMonster.values();
+		return runState.get().getVersion() + tickRefreshes;
+	}
 
-		// Add wave 1, future waves are derived from its contents
-		INFERNO_WAVES.add(ImmutableMap.of(
-			InfernoMonster.JAL_NIB, InfernoMonster.JAL_NIB.getCountPerSpawn(),
-			InfernoMonster.JAL_MEJRAH, InfernoMonster.JAL_MEJRAH.getCountPerSpawn()
-		));
+	private void publishConfigSnapshot()
+	{
+		final ConfigSnapshot snapshot = ConfigSnapshot.of(config);
+		displayStringCache.reset(snapshot);
+		metrics.setEnabled(snapshot.isDebugMetrics());
+		runRecorder.setRecording(snapshot.isRecordRuns());
+		configSnapshot = snapshot;
+	}
 
-		while (true)
+	private void updateNavigationButton()
+	{
+		final boolean show = configSnapshot.isShowSidePanel();
+		if (show == navigationButtonAdded || navigationButton == null)
 		{
-			final Map<WaveMonster, Integer> prevWave = new HashMap<>(INFERNO_WAVES.get(INFERNO_WAVES.size() - 1));
-
-			// Check for waves with double-spawns to either stop adding waves (for double mages) or insert a double nibbler wave
-			// Note: because prevWave is defined prior to this check, double nibbler waves will never enter this check
-			if (prevWave.size() == 2 && prevWave.entrySet().stream().anyMatch(entry -> entry.getValue() == entry.getKey().getCountPerSpawn() * 2))
-			{
-				// Double mage is the last wave where this iterative wave algorithm makes sense, don't continue building waves after this
-				if (prevWave.containsKey(InfernoMonster.JAL_ZEK))
-				{
-					break;
-				}
-				else
-				{
-					// Add a double nibbler wave after each wave containing only a single nibbler spawn and two identical spawns
-					INFERNO_WAVES.add(ImmutableMap.of(InfernoMonster.JAL_NIB, InfernoMonster.JAL_NIB.getCountPerSpawn() * 2));
-				}
-			}
-
-			int maxMonsterOrdinal = -1;
-			for (int i = 0; i < infernoMonsters.length; i++)
-			{
-				final int ordinalMonsterSpawnCount = prevWave.getOrDefault(infernoMonsters[i], 0) / infernoMonsters[i].getCountPerSpawn();
-
-				if (ordinalMonsterSpawnCount == MAX_MONSTER_SPAWNS_PER_WAVE)
-				{
-					 maxMonsterOrdinal = i;
-					 break;
-				}
-			}
+			return;
+		}
 
-			if (maxMonsterOrdinal >= 0)
-			{
-				prevWave.remove(infernoMonsters[maxMonsterOrdinal]);
-			}
+		if (show)
+		{
+			clientToolbar.addNavigation(navigationButton);
+		}
+		else
+		{
+			clientToolbar.removeNavigation(navigationButton);
+		}
+		navigationButtonAdded = show;
+	}
 
-			final int addedMonsterOrdinal = maxMonsterOrdinal >= 1 ? maxMonsterOrdinal + 1 : 1;
-			final InfernoMonster addedMonster = infernoMonsters[addedMonsterOrdinal];
-			final int addedMonsterQuantity = prevWave.getOrDefault(addedMonster, 0) + addedMonster.getCountPerSpawn();
+	private void updatePanel(final ConfigSnapshot config)
+	{
+		final WavePanel panel = wavePanel;
+		if (panel != null)
+		{
+			panel.update(runState.get(), config);
+		}
+	}
 
-			prevWave.put(addedMonster, addedMonsterQuantity);
+	private void recordRegion()
+	{
+		final CaveType cave = regionTracker.getCurrentCave();
+		record(RunEventType.REGION, cave == null ? -1 : cave.ordinal());
+	}
 
-			INFERNO_WAVES.add(prevWave);
+	private void record(final RunEventType type, final int value)
+	{
+		if (runRecorder.isRecording())
+		{
+			runRecorder.record(type, client.getTickCount(), value);
 		}
+	}
 
-		INFERNO_WAVES.add(ImmutableMap.of(InfernoMonster.JALTOK_JAD, 1));
-		INFERNO_WAVES.add(ImmutableMap.of(InfernoMonster.JALTOK_JAD, 3));
-		INFERNO_WAVES.add(ImmutableMap.of(InfernoMonster.TZKAL_ZUK, 1));
+	private void resetWaves()
+	{
+		runState.updateAndGet(CaveRunState::reset);
+		splitTimer.reset();
+		npcTracker.reset();
+		bossAttackPredictor.reset();
+		personalBests.stopComparing();
+		updatePanel(configSnapshot);
+	}
+
+	static String formatMonsterQuantity(final WaveMonster monster, final int quantity, final boolean commonNames, final boolean showMonsterLevel)
+	{
+		return String.format("%dx %s", quantity, monster.displayString(commonNames, showMonsterLevel));
 	}
 }
@@ -26,27 +26,29 @@ package at.nightfirec.fightcavewaves;
 
 import lombok.AllArgsConstructor;
 import lombok.Getter;
+import net.runelite.api.NpcID;
 
 @AllArgsConstructor
 @Getter
 enum InfernoMonster implements WaveMonster
 {
-	JAL_NIB("Jal-Nib", WaveMonsterType.NIBBLER, 32, 3),
-	JAL_MEJRAH("Jal-MejRah", WaveMonsterType.BAT, 85),
-	JAL_AK("Jal-Ak", WaveMonsterType.BLOB, 165),
-	JAL_IMKOT("Jal-ImKot", WaveMonsterType.MELEE, 240),
-	JAL_XIL("Jal-Xil", WaveMonsterType.RANGER, 370),
-	JAL_ZEK("Jal-Zek", WaveMonsterType.MAGE, 490),
-	JALTOK_JAD("JalTok-Jad", WaveMonsterType.JAD, 900),
-	TZKAL_ZUK("TzKal-Zuk", WaveMonsterType.ZUK, 1400);
+	JAL_NIB("Jal-Nib", WaveMonsterType.NIBBLER, 32, 3, new int[]{NpcID.JALNIB}),
+	JAL_MEJRAH("Jal-MejRah", WaveMonsterType.BAT, 85, new int[]{NpcID.JALMEJRAH}),
+	JAL_AK("Jal-Ak", WaveMonsterType.BLOB, 165, new int[]{NpcID.JALAK}),
+	JAL_IMKOT("Jal-ImKot", WaveMonsterType.MELEE, 240, new int[]{NpcID.JALIMKOT}),
+	JAL_XIL("Jal-Xil", WaveMonsterType.RANGER, 370, new int[]{NpcID.JALXIL}),
+	JAL_ZEK("Jal-Zek", WaveMonsterType.MAGE, 490, new int[]{NpcID.JALZEK}),
+	JALTOK_JAD("JalTok-Jad", WaveMonsterType.JAD, 900, new int[]{NpcID.JALTOKJAD}),
+	TZKAL_ZUK("TzKal-Zuk", WaveMonsterType.ZUK, 1400, new int[]{NpcID.TZKALZUK});
 
 	private final String name;
 	private final WaveMonsterType type;
 	private final int level;
 	private final int countPerSpawn;
+	private final int[] npcIds;
 
-	InfernoMonster(final String name, final WaveMonsterType type, final int level)
+	InfernoMonster(final String name, final WaveMonsterType type, final int level, final int[] npcIds)
 	{
-		this(name, type, level, 1);
+		this(name, type, level, 1, npcIds);
 	}
 }
@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2026, Jordan Atwood <nightfirecat@nightfirec.at>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package at.nightfirec.fightcavewaves;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * Emits each measured hot path call as a custom JDK Flight Recorder event. This class references JFR types, so it is
+ * only loaded by {@link PluginMetrics} after checking that the JFR API is available (Java 11 and newer).
+ */
+class JfrEventSink implements PluginMetrics.EventSink
+{
+	@Override
+	public void emit(final PluginMetrics.Probe probe, final long elapsedNanos, final long allocatedBytes)
+	{
+		final HotPathEvent event = new HotPathEvent();
+		if (!event.isEnabled())
+		{
+			return;
+		}
+
+		event.probe = probe.getName();
+		event.elapsed = elapsedNanos;
+		event.allocated = allocatedBytes;
+		event.commit();
+	}
+
+	@Name("at.nightfirec.fightcavewaves.HotPath")
+	@Label("Fight Cave Waves Hot Path")
+	@Description("A single measured call of one of the Fight Cave Waves plugin's hot paths")
+	@Category({"RuneLite", "Fight Cave Waves"})
+	static class HotPathEvent extends Event
+	{
+		@Label("Probe")
+		String probe;
+
+		@Label("Elapsed")
+		@Timespan(Timespan.NANOSECONDS)
+		long elapsed;
+
+		@Label("Allocated")
+		@DataAmount
+		long allocated;
+	}
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2026, Jordan Atwood <nightfirecat@nightfirec.at>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package at.nightfirec.fightcavewaves;
+
+import java.awt.Dimension;
+import java.awt.Graphics2D;
+import javax.inject.Inject;
+import net.runelite.client.ui.ColorScheme;
+import net.runelite.client.ui.overlay.OverlayPanel;
+import net.runelite.client.ui.overlay.OverlayPosition;
+import net.runelite.client.ui.overlay.components.LineComponent;
+import net.runelite.client.ui.overlay.components.TitleComponent;
+
+/**
+ * Shows live {@link PluginMetrics} figures while the hidden debug metrics config option is enabled.
+ */
+class MetricsOverlay extends OverlayPanel
+{
+	private final PluginMetrics metrics;
+
+	@Inject
+	private MetricsOverlay(PluginMetrics metrics)
+	{
+		setPosition(OverlayPosition.TOP_LEFT);
+		this.metrics = metrics;
+	}
+
+	@Override
+	public Dimension render(Graphics2D graphics)
+	{
+		if (!metrics.isEnabled())
+		{
+			return null;
+		}
+
+		panelComponent.getChildren().add(TitleComponent.builder()
+			.text("Fight Cave Waves metrics")
+			.color(ColorScheme.BRAND_ORANGE)
+			.build());
+
+		for (final PluginMetrics.Probe probe : PluginMetrics.Probe.values())
+		{
+			panelComponent.getChildren().add(LineComponent.builder()
+				.left(probe.getName())
+				.right(metrics.getCalls(probe) + " calls")
+				.build());
+			panelComponent.getChildren().add(LineComponent.builder()
+				.left("  mean / max")
+				.right(formatMicros(metrics.getMeanNanos(probe)) + " / " + formatMicros(metrics.getMaxNanos(probe)))
+				.build());
+
+			if (PluginMetrics.isAllocationTrackingSupported())
+			{
+				panelComponent.getChildren().add(LineComponent.builder()
+					.left("  alloc / call")
+					.right(metrics.getMeanAllocatedBytes(probe) + " B")
+					.build());
+			}
+		}
+
+		return super.render(graphics);
+	}
+
+	private static String formatMicros(final long nanos)
+	{
+		return String.format("%.1fus", nanos / 1000.0);
+	}
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2026, Jordan Atwood <nightfirecat@nightfirec.at>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package at.nightfirec.fightcavewaves;
+
+import java.util.Arrays;
+import javax.annotation.Nullable;
+import javax.inject.Singleton;
+
+/**
+ * Counts the wave monsters currently alive in the player's cave. NPC ids are mapped to monster ordinals through a dense
+ * per-cave lookup array, so each spawn and despawn is a bounds check, an array read, and an increment or decrement.
+ */
+@Singleton
+class NpcTracker
+{
+	private static final byte NOT_TRACKED = -1;
+
+	@Nullable
+	private CaveType cave;
+	// indexed by monster ordinal of the tracked cave's monsters
+	private int[] alive = new int[0];
+
+	/**
+	 * Counts a spawned NPC if it is one of the given cave's wave monsters.
+	 *
+	 * @return {@code true} if the NPC is a wave monster
+	 */
+	boolean spawned(final CaveType cave, final int npcId)
+	{
+		final int ordinal = IdLookup.forCave(cave).ordinal(npcId);
+		if (ordinal == NOT_TRACKED)
+		{
+			return false;
+		}
+
+		if (cave != this.cave)
+		{
+			track(cave);
+		}
+
+		alive[ordinal]++;
+		return true;
+	}
+
+	/**
+	 * Stops counting a despawned NPC if it is one of the given cave's wave monsters.
+	 *
+	 * @return {@code true} if the NPC is a wave monster
+	 */
+	boolean despawned(final CaveType cave, final int npcId)
+	{
+		final int ordinal = IdLookup.forCave(cave).ordinal(npcId);
+		if (ordinal == NOT_TRACKED || cave != this.cave)
+		{
+			return false;
+		}
+
+		if (alive[ordinal] > 0)
+		{
+			alive[ordinal]--;
+		}
+		return true;
+	}
+
+	/**
+	 * @return The number of the given monster currently alive in the given cave
+	 */
+	int getAlive(final CaveType cave, final WaveMonster monster)
+	{
+		return cave == this.cave ? alive[monster.ordinal()] : 0;
+	}
+
+	void reset()
+	{
+		Arrays.fill(alive, 0);
+	}
+
+	private void track(final CaveType cave)
+	{
+		this.cave = cave;
+		alive = new int[WaveTables.forCave(cave).getMonsters().length];
+	}
+
+	/**
+	 * Maps a cave's wave monster NPC ids to monster ordinals, indexed by {@code npcId - minId}.
+	 */
+	private static final class IdLookup
+	{
+		private final int minId;
+		private final byte[] ordinals;
+
+		private IdLookup(final WaveMonster[] monsters)
+		{
+			int min = Integer.MAX_VALUE;
+			int max = Integer.MIN_VALUE;
+			for (final WaveMonster monster : monsters)
+			{
+				for (final int id : monster.getNpcIds())
+				{
+					min = Math.min(min, id);
+					max = Math.max(max, id);
+				}
+			}
+
+			minId = min;
+			ordinals = new byte[max - min + 1];
+			Arrays.fill(ordinals, NOT_TRACKED);
+			for (final WaveMonster monster : monsters)
+			{
+				for (final int id : monster.getNpcIds())
+				{
+					ordinals[id - minId] = (byte) monster.ordinal();
+				}
+			}
+		}
+
+		int ordinal(final int npcId)
+		{
+			final int index = npcId - minId;
+			if (index < 0 || index >= ordinals.length)
+			{
+				return NOT_TRACKED;
+			}
+
+			return ordinals[index];
+		}
+
+		static IdLookup forCave(final CaveType cave)
+		{
+			switch(cave)
+			{
+				case FIGHT_CAVE:
+					return FightCaveHolder.LOOKUP;
+				case INFERNO:
+					return InfernoHolder.LOOKUP;
+				default:
+					throw new IllegalArgumentException("Unknown cave type: " + cave);
+			}
+		}
+
+		// As in WaveTables, each cave's lookup is built the first time an NPC spawns in that cave
+		private static final class FightCaveHolder
+		{
+			static final IdLookup LOOKUP = new IdLookup(FightCaveMonster.values());
+		}
+
+		private static final class InfernoHolder
+		{
+			static final IdLookup LOOKUP = new IdLookup(InfernoMonster.values());
+		}
+	}
+}
@@ -0,0 +1,262 @@
+/*
+ * Copyright (c) 2026, Jordan Atwood <nightfirecat@nightfirec.at>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package at.nightfirec.fightcavewaves;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.reflect.TypeToken;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import javax.annotation.Nullable;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.client.RuneLite;
+
+/**
+ * Keeps each cave's personal best splits, and compares the current run against them.
+ * <p>
+ * Personal bests are read from and written to disk on the executor, and are otherwise held in memory. When a run
+ * starts, its cave's personal best splits are copied into a preallocated comparison array, so comparing a split
+ * during the run is only a subtraction of two ints. When a completed run beats the personal best, the personal best
+ * file is rewritten atomically on the executor.
+ */
+@Slf4j
+@Singleton
+class PersonalBestSplits
+{
+	static final String FILE_NAME = "personal-bests.json";
+
+	private static final Type SPLITS_TYPE = new TypeToken<Map<CaveType, int[]>>()
+	{
+	}.getType();
+
+	private final ScheduledExecutorService executor;
+	private final Gson gson;
+	@Getter
+	private final Path file;
+
+	// Replaced wholesale, never modified, so it can be safely read while being replaced from another thread
+	private volatile Map<CaveType, int[]> personalBests = Collections.emptyMap();
+
+	// The current run's comparison, only accessed from the client thread
+	private final int[] comparison = new int[WaveSplitTimer.SPLIT_COUNT];
+	@Getter
+	private boolean comparing;
+
+	@Inject
+	private PersonalBestSplits(ScheduledExecutorService executor, Gson gson)
+	{
+		this(executor, gson, RuneLite.RUNELITE_DIR.toPath().resolve("fight-cave-waves").resolve(FILE_NAME));
+	}
+
+	PersonalBestSplits(final ScheduledExecutorService executor, final Gson gson, final Path file)
+	{
+		this.executor = executor;
+		this.gson = gson;
+		this.file = file;
+		Arrays.fill(comparison, WaveSplitTimer.NO_TICK);
+	}
+
+	/**
+	 * Loads the saved personal bests on the executor.
+	 */
+	void load()
+	{
+		executor.execute(() ->
+		{
+			final Map<CaveType, int[]> loaded = read();
+			if (loaded != null)
+			{
+				personalBests = loaded;
+			}
+		});
+	}
+
+	/**
+	 * @return A copy of the given cave's personal best splits, or {@code null} if there is none
+	 */
+	@Nullable
+	int[] getPersonalBest(final CaveType cave)
+	{
+		final int[] splits = personalBests.get(cave);
+		return splits == null ? null : splits.clone();
+	}
+
+	/**
+	 * Begins comparing against the given cave's personal best, if there is one.
+	 */
+	void startRun(final CaveType cave)
+	{
+		final int[] splits = personalBests.get(cave);
+		if (splits == null)
+		{
+			stopComparing();
+			return;
+		}
+
+		Arrays.fill(comparison, WaveSplitTimer.NO_TICK);
+		System.arraycopy(splits, 0, comparison, 0, Math.min(splits.length, comparison.length));
+		comparing = true;
+	}
+
+	void stopComparing()
+	{
+		comparing = false;
+	}
+
+	/**
+	 * @return The personal best split for the given wave (or {@link WaveSplitTimer#COMPLETION_INDEX}), or {@link
+	 * WaveSplitTimer#NO_TICK} if there is no personal best being compared against or it has no such split
+	 */
+	int getComparisonSplit(final int wave)
+	{
+		if (!comparing || wave <= 0 || wave >= comparison.length)
+		{
+			return WaveSplitTimer.NO_TICK;
+		}
+
+		return comparison[wave];
+	}
+
+	/**
+	 * Saves the timer's splits as the cave's personal best if it timed a complete run which was faster than the
+	 * current personal best.
+	 *
+	 * @return Whether a new personal best was set
+	 */
+	boolean runCompleted(final CaveType cave, final WaveSplitTimer timer)
+	{
+		if (!timer.isFullRun() || !timer.isCompleted())
+		{
+			return false;
+		}
+
+		final int total = timer.getSplit(WaveSplitTimer.COMPLETION_INDEX);
+		final int[] current = personalBests.get(cave);
+		if (current != null
+			&& current.length > WaveSplitTimer.COMPLETION_INDEX
+			&& current[WaveSplitTimer.COMPLETION_INDEX] != WaveSplitTimer.NO_TICK
+			&& current[WaveSplitTimer.COMPLETION_INDEX] <= total)
+		{
+			return false;
+		}
+
+		final int[] splits = new int[WaveSplitTimer.SPLIT_COUNT];
+		for (int wave = 0; wave < splits.length; wave++)
+		{
+			splits[wave] = timer.getSplit(wave);
+		}
+
+		final Map<CaveType, int[]> updated = new EnumMap<>(CaveType.class);
+		updated.putAll(personalBests);
+		updated.put(cave, splits);
+		final Map<CaveType, int[]> published = Collections.unmodifiableMap(updated);
+		personalBests = published;
+
+		executor.execute(() -> write(published));
+		return true;
+	}
+
+	@Nullable
+	private Map<CaveType, int[]> read()
+	{
+		try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8))
+		{
+			final Map<CaveType, int[]> read = gson.fromJson(reader, SPLITS_TYPE);
+			if (read == null)
+			{
+				return null;
+			}
+
+			final Map<CaveType, int[]> loaded = new EnumMap<>(CaveType.class);
+			for (Map.Entry<CaveType, int[]> entry : read.entrySet())
+			{
+				// Caves removed or renamed since the file was written are read as null keys
+				if (entry.getKey() != null && entry.getValue() != null)
+				{
+					loaded.put(entry.getKey(), entry.getValue());
+				}
+			}
+			return Collections.unmodifiableMap(loaded);
+		}
+		catch (NoSuchFileException e)
+		{
+			return null;
+		}
+		catch (IOException | JsonParseException e)
+		{
+			log.warn("Unable to read personal best splits from {}", file, e);
+			return null;
+		}
+	}
+
+	private void write(final Map<CaveType, int[]> splits)
+	{
+		try
+		{
+			Files.createDirectories(file.getParent());
+			final Path temp = Files.createTempFile(file.getParent(), FILE_NAME, ".tmp");
+			try
+			{
+				try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8))
+				{
+					gson.toJson(splits, SPLITS_TYPE, writer);
+				}
+
+				try
+				{
+					Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+				}
+				catch (AtomicMoveNotSupportedException e)
+				{
+					Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+				}
+			}
+			finally
+			{
+				Files.deleteIfExists(temp);
+			}
+		}
+		catch (IOException e)
+		{
+			log.warn("Unable to write personal best splits to {}", file, e);
+		}
+	}
+}
@@ -0,0 +1,202 @@
+/*
+ * Copyright (c) 2026, Jordan Atwood <nightfirecat@nightfirec.at>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package at.nightfirec.fightcavewaves;
+
+import java.lang.management.ManagementFactory;
+import javax.annotation.Nullable;
+import javax.inject.Singleton;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Low-overhead call counters and timers for the plugin's hot paths. Measurement is only done while enabled, which
+ * callers are expected to check once before wrapping their work in {@link #start(Probe)} and {@link #stop(Probe)}, so
+ * that disabled metrics cost a single branch.
+ * <p>
+ * All probes are started and stopped on the client thread, and are not safe to use from other threads.
+ */
+@Slf4j
+@Singleton
+class PluginMetrics
+{
+	@RequiredArgsConstructor
+	@Getter
+	enum Probe
+	{
+		RENDER("Render"),
+		CHAT_MESSAGE("Chat message"),
+		GAME_STATE_CHANGED("Game state"),
+		GAME_TICK("Game tick"),
+		;
+
+		private final String name;
+	}
+
+	private static final int PROBE_COUNT = Probe.values().length;
+
+	@Nullable
+	private static final com.sun.management.ThreadMXBean THREAD_MX_BEAN = findAllocationTrackingBean();
+	private static final EventSink EVENT_SINK = createEventSink();
+
+	@Getter
+	private volatile boolean enabled;
+
+	private final long[] calls = new long[PROBE_COUNT];
+	private final long[] totalNanos = new long[PROBE_COUNT];
+	private final long[] maxNanos = new long[PROBE_COUNT];
+	private final long[] totalAllocatedBytes = new long[PROBE_COUNT];
+	private final long[] startNanos = new long[PROBE_COUNT];
+	private final long[] startAllocatedBytes = new long[PROBE_COUNT];
+
+	void setEnabled(final boolean enabled)
+	{
+		if (enabled && !this.enabled)
+		{
+			reset();
+		}
+		this.enabled = enabled;
+	}
+
+	void start(final Probe probe)
+	{
+		final int i = probe.ordinal();
+		startAllocatedBytes[i] = currentThreadAllocatedBytes();
+		startNanos[i] = System.nanoTime();
+	}
+
+	void stop(final Probe probe)
+	{
+		final long nanos = System.nanoTime();
+		final int i = probe.ordinal();
+		final long elapsedNanos = nanos - startNanos[i];
+		final long allocatedBytes = currentThreadAllocatedBytes() - startAllocatedBytes[i];
+
+		calls[i]++;
+		totalNanos[i] += elapsedNanos;
+		maxNanos[i] = Math.max(maxNanos[i], elapsedNanos);
+		totalAllocatedBytes[i] += allocatedBytes;
+
+		EVENT_SINK.emit(probe, elapsedNanos, allocatedBytes);
+	}
+
+	/**
+	 * @return Whether per-call allocation figures are available in this JVM
+	 */
+	static boolean isAllocationTrackingSupported()
+	{
+		return THREAD_MX_BEAN != null;
+	}
+
+	long getCalls(final Probe probe)
+	{
+		return calls[probe.ordinal()];
+	}
+
+	long getMeanNanos(final Probe probe)
+	{
+		final long count = calls[probe.ordinal()];
+		return count == 0 ? 0 : totalNanos[probe.ordinal()] / count;
+	}
+
+	long getMaxNanos(final Probe probe)
+	{
+		return maxNanos[probe.ordinal()];
+	}
+
+	long getMeanAllocatedBytes(final Probe probe)
+	{
+		final long count = calls[probe.ordinal()];
+		return count == 0 ? 0 : totalAllocatedBytes[probe.ordinal()] / count;
+	}
+
+	private void reset()
+	{
+		for (int i = 0; i < PROBE_COUNT; i++)
+		{
+			calls[i] = 0;
+			totalNanos[i] = 0;
+			maxNanos[i] = 0;
+			totalAllocatedBytes[i] = 0;
+		}
+	}
+
+	private static long currentThreadAllocatedBytes()
+	{
+		if (THREAD_MX_BEAN == null)
+		{
+			return 0;
+		}
+
+		return THREAD_MX_BEAN.getThreadAllocatedBytes(Thread.currentThread().getId());
+	}
+
+	@Nullable
+	private static com.sun.management.ThreadMXBean findAllocationTrackingBean()
+	{
+		try
+		{
+			final java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+			if (bean instanceof com.sun.management.ThreadMXBean)
+			{
+				final com.sun.management.ThreadMXBean allocationBean = (com.sun.management.ThreadMXBean) bean;
+				if (allocationBean.isThreadAllocatedMemorySupported() && allocationBean.isThreadAllocatedMemoryEnabled())
+				{
+					return allocationBean;
+				}
+			}
+		}
+		catch (LinkageError | UnsupportedOperationException e)
+		{
+			log.debug("Per-thread allocation tracking is unavailable", e);
+		}
+
+		return null;
+	}
+
+	private static EventSink createEventSink()
+	{
+		try
+		{
+			Class.forName("jdk.jfr.Event", false, PluginMetrics.class.getClassLoader());
+		}
+		catch (ClassNotFoundException e)
+		{
+			return (probe, elapsedNanos, allocatedBytes) ->
+			{
+			};
+		}
+
+		return new JfrEventSink();
+	}
+
+	/**
+	 * Receives each measured call, in addition to the in-memory counters.
+	 */
+	interface EventSink
+	{
+		void emit(Probe probe, long elapsedNanos, long allocatedBytes);
+	}
+}
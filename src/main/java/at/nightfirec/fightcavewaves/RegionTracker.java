@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2026, Jordan Atwood <nightfirecat@nightfirec.at>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package at.nightfirec.fightcavewaves;
+
+import javax.annotation.Nullable;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import lombok.Getter;
+import net.runelite.api.Client;
+import org.apache.commons.lang3.ArrayUtils;
+
+/**
+ * Tracks which cave, if any, the player is currently in. The loaded map regions only change when a new map is
+ * loaded, so this is updated on game state changes rather than checked each time it is needed.
+ */
+@Singleton
+class RegionTracker
+{
+	private final Client client;
+
+	// Updated on the client thread, but also reset on whichever thread shuts the plugin down
+	@Getter
+	@Nullable
+	private volatile CaveType currentCave;
+
+	@Inject
+	private RegionTracker(Client client)
+	{
+		this.client = client;
+	}
+
+	void update()
+	{
+		final int[] mapRegions = client.getMapRegions();
+
+		if (ArrayUtils.contains(mapRegions, FightCaveWavesPlugin.FIGHT_CAVE_REGION))
+		{
+			currentCave = CaveType.FIGHT_CAVE;
+		}
+		else if (ArrayUtils.contains(mapRegions, FightCaveWavesPlugin.INFERNO_REGION))
+		{
+			currentCave = CaveType.INFERNO;
+		}
+		else
+		{
+			currentCave = null;
+		}
+	}
+
+	void reset()
+	{
+		currentCave = null;
+	}
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2026, Jordan Atwood <nightfirecat@nightfirec.at>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package at.nightfirec.fightcavewaves;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A bounded, lock-free, single-producer single-consumer ring buffer of run events. Events are stored in parallel
+ * primitive arrays, so neither offering nor draining events allocates.
+ * <p>
+ * {@link #offer(byte, int, long, int)} must only be called from a single producer thread, and {@link
+ * #drain(EventConsumer)} from a single consumer thread at a time. When the buffer is full, new events are dropped
+ * rather than waiting for the consumer.
+ */
+final class RunEventBuffer
+{
+	private final int capacity;
+	private final int mask;
+	private final byte[] types;
+	private final int[] ticks;
+	private final long[] nanos;
+	private final int[] values;
+
+	// sequence of the next event to be written, only advanced by the producer
+	private final AtomicLong head = new AtomicLong();
+	// sequence of the next event to be read, only advanced by the consumer
+	private final AtomicLong tail = new AtomicLong();
+	// the producer's last observed value of tail, to avoid reading it on every offer
+	private long cachedTail;
+
+	private volatile long dropped;
+
+	/**
+	 * @param capacity The maximum number of undrained events, which must be a power of two
+	 */
+	RunEventBuffer(final int capacity)
+	{
+		if (capacity <= 0 || Integer.bitCount(capacity) != 1)
+		{
+			throw new IllegalArgumentException("Capacity must be a power of two: " + capacity);
+		}
+
+		this.capacity = capacity;
+		mask = capacity - 1;
+		types = new byte[capacity];
+		ticks = new int[capacity];
+		nanos = new long[capacity];
+		values = new int[capacity];
+	}
+
+	int capacity()
+	{
+		return capacity;
+	}
+
+	/**
+	 * @return The number of events which have been dropped because the buffer was full
+	 */
+	long getDropped()
+	{
+		return dropped;
+	}
+
+	/**
+	 * Adds an event to the buffer, if there is space for it.
+	 *
+	 * @return Whether the event was added
+	 */
+	boolean offer(final byte type, final int tick, final long nanoTime, final int value)
+	{
+		final long sequence = head.get();
+		if (sequence - cachedTail >= capacity)
+		{
+			cachedTail = tail.get();
+			if (sequence - cachedTail >= capacity)
+			{
+				// Only the producer writes this field, so the non-atomic increment is safe
+				dropped = dropped + 1;
+				return false;
+			}
+		}
+
+		final int index = (int) sequence & mask;
+		types[index] = type;
+		ticks[index] = tick;
+		nanos[index] = nanoTime;
+		values[index] = value;
+		// Publishes the event's slot to the consumer
+		head.lazySet(sequence + 1);
+		return true;
+	}
+
+	/**
+	 * Passes every buffered event to the given consumer, in the order they were offered.
+	 *
+	 * @return The number of events drained
+	 */
+	int drain(final EventConsumer consumer) throws IOException
+	{
+		final long start = tail.get();
+		final long end = head.get();
+		long sequence = start;
+
+		try
+		{
+			for (; sequence < end; sequence++)
+			{
+				final int index = (int) sequence & mask;
+				consumer.accept(types[index], ticks[index], nanos[index], values[index]);
+			}
+		}
+		finally
+		{
+			// Releases the drained slots back to the producer
+			tail.lazySet(sequence);
+		}
+
+		return (int) (sequence - start);
+	}
+
+	interface EventConsumer
+	{
+		void accept(byte type, int tick, long nanoTime, int value) throws IOException;
+	}
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2026, Jordan Atwood <nightfirecat@nightfirec.at>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package at.nightfirec.fightcavewaves;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * The kinds of event stored in run recordings. Each type's id is written to recordings, so ids must never be changed or
+ * reused, and adding a type requires a new {@link RunRecording#FORMAT_VERSION}.
+ */
+@RequiredArgsConstructor
+@Getter
+enum RunEventType
+{
+	/**
+	 * The player's cave was determined after a map load; the value is the cave's ordinal, or -1 outside of any cave
+	 */
+	REGION((byte) 1),
+	/**
+	 * The game state changed; the value is the new {@link net.runelite.api.GameState#getState()}
+	 */
+	GAME_STATE((byte) 2),
+	/**
+	 * A wave started; the value is the wave number
+	 */
+	WAVE_START((byte) 3),
+	/**
+	 * An Inferno wave was completed; the value is the wave number which will follow it
+	 */
+	INFERNO_WAVE_COMPLETE((byte) 4),
+	/**
+	 * The minigame was paused; the value is unused
+	 */
+	PAUSED((byte) 5),
+	/**
+	 * The run was completed by killing the cave's final boss; the value is unused
+	 */
+	RUN_COMPLETE((byte) 6),
+	;
+
+	private static final RunEventType[] BY_ID = new RunEventType[7];
+
+	static
+	{
+		for (RunEventType type : values())
+		{
+			BY_ID[type.id] = type;
+		}
+	}
+
+	private final byte id;
+
+	static RunEventType fromId(final byte id)
+	{
+		if (id <= 0 || id >= BY_ID.length || BY_ID[id] == null)
+		{
+			throw new IllegalArgumentException("Unknown run event type: " + id);
+		}
+
+		return BY_ID[id];
+	}
+}
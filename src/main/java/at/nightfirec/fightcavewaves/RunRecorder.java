@@ -0,0 +1,243 @@
+/*
+ * Copyright (c) 2026, Jordan Atwood <nightfirecat@nightfirec.at>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package at.nightfirec.fightcavewaves;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.client.RuneLite;
+
+/**
+ * Records the events of each cave run to a compact binary file, one file per visit to a cave.
+ * <p>
+ * Events are recorded on the client thread into a {@link RunEventBuffer}, which is drained periodically on the
+ * executor by a writer which owns the open {@link FileChannel}, so the client thread never waits on disk I/O. A new
+ * file is started whenever a {@link RunEventType#REGION} event places the player in a cave after being outside of one,
+ * and the file is closed when a region event places them outside of any cave. Events recorded outside of caves are
+ * discarded.
+ * <p>
+ * See {@link RunRecording} for the file format.
+ */
+@Slf4j
+@Singleton
+class RunRecorder
+{
+	static final String FILE_EXTENSION = ".fcwr";
+
+	private static final int BUFFER_CAPACITY = 4096;
+	private static final long DRAIN_INTERVAL_MILLIS = 500;
+	private static final DateTimeFormatter FILE_NAME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd_HH-mm-ss-SSS");
+
+	private final ScheduledExecutorService executor;
+	@Getter
+	private final Path directory;
+	private final RunEventBuffer buffer = new RunEventBuffer(BUFFER_CAPACITY);
+
+	// Writer state, only accessed while holding writerLock
+	private final Object writerLock = new Object();
+	private final ByteBuffer writeBuffer = ByteBuffer.allocate(RunRecording.HEADER_SIZE + BUFFER_CAPACITY * RunRecording.EVENT_SIZE);
+	private FileChannel channel;
+	private long lastStartedMillis;
+
+	private ScheduledFuture<?> drainTask;
+
+	@Getter
+	private volatile boolean recording;
+
+	@Inject
+	private RunRecorder(ScheduledExecutorService executor)
+	{
+		this(executor, RuneLite.RUNELITE_DIR.toPath().resolve("fight-cave-waves").resolve("runs"));
+	}
+
+	RunRecorder(final ScheduledExecutorService executor, final Path directory)
+	{
+		this.executor = executor;
+		this.directory = directory;
+	}
+
+	/**
+	 * Starts or stops recording. Stopping writes out any buffered events and closes the current recording file.
+	 */
+	synchronized void setRecording(final boolean recording)
+	{
+		if (recording == this.recording)
+		{
+			return;
+		}
+
+		this.recording = recording;
+		if (recording)
+		{
+			drainTask = executor.scheduleWithFixedDelay(this::drain, DRAIN_INTERVAL_MILLIS, DRAIN_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+		}
+		else
+		{
+			if (drainTask != null)
+			{
+				drainTask.cancel(false);
+				drainTask = null;
+			}
+			executor.execute(this::drainAndClose);
+		}
+	}
+
+	/**
+	 * Records an event. This must only be called from the client thread, and never blocks; if the writer has fallen
+	 * too far behind, the event is dropped.
+	 */
+	void record(final RunEventType type, final int tick, final int value)
+	{
+		buffer.offer(type.getId(), tick, System.nanoTime(), value);
+	}
+
+	/**
+	 * @return The number of events which have been dropped because the writer fell behind
+	 */
+	long getDroppedEvents()
+	{
+		return buffer.getDropped();
+	}
+
+	void drain()
+	{
+		synchronized (writerLock)
+		{
+			try
+			{
+				buffer.drain(this::write);
+				flush();
+			}
+			catch (IOException e)
+			{
+				log.warn("Unable to write run recording", e);
+				closeChannel();
+			}
+		}
+	}
+
+	private void drainAndClose()
+	{
+		synchronized (writerLock)
+		{
+			drain();
+			closeChannel();
+		}
+	}
+
+	private void write(final byte type, final int tick, final long nanoTime, final int value) throws IOException
+	{
+		final boolean regionEvent = type == RunEventType.REGION.getId();
+		if (regionEvent && value >= 0 && channel == null)
+		{
+			openChannel();
+		}
+
+		if (channel == null)
+		{
+			return;
+		}
+
+		if (writeBuffer.remaining() < RunRecording.EVENT_SIZE)
+		{
+			flush();
+		}
+
+		writeBuffer.put(type);
+		writeBuffer.putInt(tick);
+		writeBuffer.putLong(nanoTime);
+		writeBuffer.putInt(value);
+
+		if (regionEvent && value < 0)
+		{
+			flush();
+			closeChannel();
+		}
+	}
+
+	private void openChannel() throws IOException
+	{
+		// Recordings are named by their start time, which is kept unique so that runs started within the same
+		// millisecond do not collide and recordings always sort in the order they were started
+		final long startedMillis = Math.max(System.currentTimeMillis(), lastStartedMillis + 1);
+		lastStartedMillis = startedMillis;
+
+		Files.createDirectories(directory);
+		final String fileName = LocalDateTime.ofInstant(Instant.ofEpochMilli(startedMillis), ZoneId.systemDefault()).format(FILE_NAME_FORMAT);
+		channel = FileChannel.open(directory.resolve(fileName + FILE_EXTENSION), StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+
+		writeBuffer.putInt(RunRecording.MAGIC);
+		writeBuffer.putShort(RunRecording.FORMAT_VERSION);
+		writeBuffer.putLong(startedMillis);
+	}
+
+	private void flush() throws IOException
+	{
+		writeBuffer.flip();
+		try
+		{
+			while (channel != null && writeBuffer.hasRemaining())
+			{
+				channel.write(writeBuffer);
+			}
+		}
+		finally
+		{
+			writeBuffer.clear();
+		}
+	}
+
+	private void closeChannel()
+	{
+		if (channel == null)
+		{
+			return;
+		}
+
+		try
+		{
+			channel.close();
+		}
+		catch (IOException e)
+		{
+			log.warn("Unable to close run recording", e);
+		}
+		channel = null;
+	}
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2026, Jordan Atwood <nightfirecat@nightfirec.at>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package at.nightfirec.fightcavewaves;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import lombok.Value;
+
+/**
+ * A run recording written by {@link RunRecorder}.
+ * <p>
+ * Recordings are big-endian binary files, beginning with a header of:
+ * <ul>
+ *     <li>the magic number {@code "FCWR"} (4 bytes)</li>
+ *     <li>the format version (2 bytes)</li>
+ *     <li>the wall clock time the recording was started, in epoch millis (8 bytes)</li>
+ * </ul>
+ * followed by any number of events of:
+ * <ul>
+ *     <li>the {@link RunEventType} id (1 byte)</li>
+ *     <li>the client tick count (4 bytes)</li>
+ *     <li>the {@link System#nanoTime()} timestamp (8 bytes)</li>
+ *     <li>the event's value (4 bytes)</li>
+ * </ul>
+ * A recording may end partway through an event if the client exited while it was being written; any such trailing
+ * partial event is ignored. Recordings of any other format version, or containing an event type id not known to this
+ * version, are rejected.
+ * <p>
+ * Version 2 added {@link RunEventType#RUN_COMPLETE} events.
+ */
+@Value
+class RunRecording
+{
+	static final int MAGIC = 0x46435752;
+	static final short FORMAT_VERSION = 2;
+	static final int HEADER_SIZE = 4 + 2 + 8;
+	static final int EVENT_SIZE = 1 + 4 + 8 + 4;
+
+	long startedMillis;
+	List<Event> events;
+
+	static RunRecording read(final Path file) throws IOException
+	{
+		final ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+		if (buffer.remaining() < HEADER_SIZE || buffer.getInt() != MAGIC)
+		{
+			throw new IOException("Not a run recording: " + file);
+		}
+
+		final short version = buffer.getShort();
+		if (version != FORMAT_VERSION)
+		{
+			throw new IOException("Unsupported run recording version " + version + ": " + file);
+		}
+
+		final long startedMillis = buffer.getLong();
+		final List<Event> events = new ArrayList<>(buffer.remaining() / EVENT_SIZE);
+		while (buffer.remaining() >= EVENT_SIZE)
+		{
+			final RunEventType type;
+			try
+			{
+				type = RunEventType.fromId(buffer.get());
+			}
+			catch (IllegalArgumentException e)
+			{
+				throw new IOException(e.getMessage() + " at event " + events.size() + ": " + file, e);
+			}
+			final int tick = buffer.getInt();
+			final long nanoTime = buffer.getLong();
+			final int value = buffer.getInt();
+			events.add(new Event(type, tick, nanoTime, value));
+		}
+
+		return new RunRecording(startedMillis, Collections.unmodifiableList(events));
+	}
+
+	@Value
+	static class Event
+	{
+		RunEventType type;
+		int tick;
+		long nanoTime;
+		int value;
+	}
+}
@@ -32,6 +32,11 @@ interface WaveMonster
 	WaveMonsterType getType();
 	int getLevel();
 	int getCountPerSpawn();
+	/**
+	 * @return The ids of the NPCs which spawn as this monster on its waves
+	 */
+	int[] getNpcIds();
+	int ordinal();
 
 	default String displayString(final boolean commonName, final boolean showMonsterLevel)
 	{
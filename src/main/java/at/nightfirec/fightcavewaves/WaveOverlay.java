@@ -28,99 +28,376 @@ import java.awt.Color;
 import java.awt.Dimension;
 import java.awt.Graphics2D;
 import java.util.ArrayList;
-import java.util.Collection;
-import java.util.Comparator;
 import java.util.List;
-import java.util.Map;
+import java.util.function.ObjIntConsumer;
 import javax.inject.Inject;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
 import net.runelite.client.ui.ColorScheme;
 import net.runelite.client.ui.overlay.OverlayPanel;
 import net.runelite.client.ui.overlay.OverlayPosition;
+import net.runelite.client.ui.overlay.components.LayoutableRenderableEntity;
 import net.runelite.client.ui.overlay.components.LineComponent;
 import net.runelite.client.ui.overlay.components.TitleComponent;
 
 class WaveOverlay extends OverlayPanel
 {
 	private static final Color HEADER_COLOR = ColorScheme.BRAND_ORANGE;
+	private static final Color SUMMARY_COLOR = Color.YELLOW;
+	private static final String WAVE_TIME_LABEL = "Wave time";
+	private static final String RUN_TIME_LABEL = "Run time";
+	private static final String PERSONAL_BEST_LABEL = "vs. PB";
+	private static final Color AHEAD_COLOR = Color.GREEN;
+	private static final Color BEHIND_COLOR = Color.RED;
 
-	private final FightCaveWavesConfig config;
 	private final FightCaveWavesPlugin plugin;
+	private final RegionTracker regionTracker;
+	private final DisplayStringCache displayStringCache;
+	private final PluginMetrics metrics;
+	private final WaveSplitTimer splitTimer;
+	private final PersonalBestSplits personalBests;
+	private final NpcTracker npcTracker;
+	private final BossAttackPredictor bossAttackPredictor;
+	private final ObjIntConsumer<WaveMonster> addMonsterLine = this::addMonsterLine;
+	private final WaveTextBlock textBlock = new WaveTextBlock();
+	private final WaveWindow<WaveRow> lookahead = new WaveWindow<>(this::buildRow);
+
+	private int renderedStateVersion = -1;
+	private ConfigSnapshot renderedConfig;
+	private CaveType renderedCave;
+	private WaveTable renderedWaves;
+	private boolean renderedDirect;
+	// whether the monster lines being added are for the current wave, and should show their alive counts
+	private boolean addingAliveCounts;
+
+	@Getter
+	private long renderCacheHits;
+
+	@Getter
+	private long renderCacheMisses;
+
+	/**
+	 * @return The total number of lookahead rows built, which grows by the number of newly visible waves on each wave
+	 * change rather than by the lookahead depth
+	 */
+	long getLookaheadRowsBuilt()
+	{
+		return lookahead.getRowsBuilt();
+	}
 
 	@Inject
-	private WaveOverlay(FightCaveWavesConfig config, FightCaveWavesPlugin plugin)
+	private WaveOverlay(FightCaveWavesPlugin plugin, RegionTracker regionTracker, DisplayStringCache displayStringCache, PluginMetrics metrics, WaveSplitTimer splitTimer, PersonalBestSplits personalBests, NpcTracker npcTracker, BossAttackPredictor bossAttackPredictor)
 	{
 		setPosition(OverlayPosition.TOP_RIGHT);
-		this.config = config;
+		// Panel children are rebuilt only when the plugin's state version changes, see render()
+		setClearChildren(false);
 		this.plugin = plugin;
+		this.regionTracker = regionTracker;
+		this.displayStringCache = displayStringCache;
+		this.metrics = metrics;
+		this.splitTimer = splitTimer;
+		this.personalBests = personalBests;
+		this.npcTracker = npcTracker;
+		this.bossAttackPredictor = bossAttackPredictor;
 	}
 
 	@Override
 	public Dimension render(Graphics2D graphics)
 	{
-		final List<Map<WaveMonster, Integer>> activeWaves = plugin.getActiveWaves();
-		final int currentWave = plugin.getCurrentWave();
+		if (metrics.isEnabled())
+		{
+			metrics.start(PluginMetrics.Probe.RENDER);
+			try
+			{
+				return renderWaves(graphics);
+			}
+			finally
+			{
+				metrics.stop(PluginMetrics.Probe.RENDER);
+			}
+		}
+
+		return renderWaves(graphics);
+	}
+
+	private Dimension renderWaves(final Graphics2D graphics)
+	{
+		// Read the run state once so that the cave, wave, and version below are all consistent with each other
+		final CaveRunState runState = plugin.getRunState();
+		final CaveType activeCave = runState.getCave();
+		final WaveTable activeWaves = runState.getWaves();
+		final int currentWave = runState.getDisplayedWave();
 
-		if (!(plugin.inFightCave() || plugin.inInferno())
+		if (regionTracker.getCurrentCave() == null
 			|| currentWave <= 0
-			|| activeWaves == null)
+			|| activeCave == null
+			|| activeWaves == null
+			|| currentWave > activeWaves.size())
 		{
 			return null;
 		}
 
+		final int stateVersion = runState.getVersion() + plugin.getTickRefreshes();
+		if (stateVersion == renderedStateVersion)
+		{
+			renderCacheHits++;
+			return renderContents(graphics);
+		}
+
+		final ConfigSnapshot config = plugin.getConfigSnapshot();
+		if (config != renderedConfig || activeCave != renderedCave)
+		{
+			// Lookahead rows were built for a different cave or config
+			lookahead.clear();
+		}
+
+		renderCacheMisses++;
+		renderedStateVersion = stateVersion;
+		renderedConfig = config;
+		renderedCave = activeCave;
+		renderedWaves = activeWaves;
+		renderedDirect = config.isDirectRendering();
 		panelComponent.getChildren().clear();
+		textBlock.clear();
 
 		final int waveIndex = currentWave - 1;
+		final WaveDisplayMode waveDisplay = config.getWaveDisplay();
 
-		if (config.waveDisplay() == WaveDisplayMode.CURRENT
-			|| config.waveDisplay() == WaveDisplayMode.BOTH)
+		if (waveDisplay == WaveDisplayMode.LOOKAHEAD)
 		{
-			final Map<WaveMonster, Integer> waveContents = activeWaves.get(waveIndex);
+			lookahead.moveTo(waveIndex, Math.min(config.getLookaheadDepth() + 1, activeWaves.size() - waveIndex));
+			for (int i = 0; i < lookahead.size(); i++)
+			{
+				if (i == 0 && config.isShowAliveCounts())
+				{
+					// The current wave's alive counts change too often to be kept in its cached row
+					addWaveInfo(displayStringCache.waveHeader(activeCave, currentWave), activeWaves, waveIndex, true);
+					continue;
+				}
+
+				addRow(lookahead.get(i));
+			}
 
-			addWaveInfo("Wave " + currentWave, waveContents);
+			addSummaryLine(config, currentWave);
+			addBossAttackLines(config);
+			addTimerLines(config);
+			return renderContents(graphics);
+		}
+
+		if (waveDisplay == WaveDisplayMode.CURRENT
+			|| waveDisplay == WaveDisplayMode.BOTH)
+		{
+			addWaveInfo(displayStringCache.waveHeader(activeCave, currentWave), activeWaves, waveIndex, config.isShowAliveCounts());
 		}
 
-		if ((config.waveDisplay() == WaveDisplayMode.NEXT
-			|| config.waveDisplay() == WaveDisplayMode.BOTH)
+		if ((waveDisplay == WaveDisplayMode.NEXT
+			|| waveDisplay == WaveDisplayMode.BOTH)
 			&& currentWave < activeWaves.size())
 		{
-			final Map<WaveMonster, Integer> waveContents = activeWaves.get(waveIndex + 1);
+			addWaveInfo(DisplayStringCache.NEXT_WAVE_HEADER, activeWaves, waveIndex + 1, false);
+		}
+
+		addSummaryLine(config, currentWave);
+		addBossAttackLines(config);
+		addTimerLines(config);
+		return renderContents(graphics);
+	}
 
-			addWaveInfo("Next wave", waveContents);
+	private Dimension renderContents(final Graphics2D graphics)
+	{
+		if (renderedDirect)
+		{
+			textBlock.setPreferredSize(getPreferredSize());
+			return textBlock.render(graphics);
 		}
 
 		return super.render(graphics);
 	}
 
-	private void addWaveInfo(final String headerText, final Map<WaveMonster, Integer> waveContents)
+	private void addWaveInfo(final String headerText, final WaveTable waves, final int waveIndex, final boolean aliveCounts)
+	{
+		if (renderedDirect)
+		{
+			textBlock.addTitle(headerText, HEADER_COLOR);
+		}
+		else
+		{
+			panelComponent.getChildren().add(TitleComponent.builder()
+				.text(headerText)
+				.color(HEADER_COLOR)
+				.build());
+		}
+
+		addingAliveCounts = aliveCounts;
+		waves.forEachMonster(waveIndex, addMonsterLine);
+		addingAliveCounts = false;
+	}
+
+	private void addSummaryLine(final ConfigSnapshot config, final int currentWave)
+	{
+		if (!config.isShowSummary())
+		{
+			return;
+		}
+
+		final String summary = displayStringCache.summaryLine(renderedCave, currentWave);
+		if (summary == null)
+		{
+			return;
+		}
+
+		if (renderedDirect)
+		{
+			textBlock.addTitle(summary, SUMMARY_COLOR);
+		}
+		else
+		{
+			panelComponent.getChildren().add(TitleComponent.builder()
+				.text(summary)
+				.color(SUMMARY_COLOR)
+				.build());
+		}
+	}
+
+	private void addBossAttackLines(final ConfigSnapshot config)
 	{
-		panelComponent.getChildren().add(TitleComponent.builder()
-			.text(headerText)
-			.color(HEADER_COLOR)
-			.build());
+		final int trackedCount = bossAttackPredictor.getTrackedCount();
+		if (!config.isShowBossAttacks() || trackedCount == 0)
+		{
+			return;
+		}
 
-		for (LineComponent line : buildWaveLines(waveContents))
+		for (int slot = 0; slot < BossAttackPredictor.MAX_TRACKED; slot++)
 		{
-			panelComponent.getChildren().add(line);
+			final BossAttackPredictor.Boss boss = bossAttackPredictor.getBoss(slot);
+			if (boss == null)
+			{
+				continue;
+			}
+
+			final String label = DisplayStringCache.bossLabel(boss, slot, trackedCount > 1);
+			final AttackStyle style = bossAttackPredictor.getLastStyle(slot);
+			if (style == null)
+			{
+				addLine(label, DisplayStringCache.AWAITING_ATTACK, Color.WHITE);
+			}
+			else
+			{
+				addLine(label, DisplayStringCache.attackText(style, bossAttackPredictor.getTicksUntilAttack(slot)), style.getColor());
+			}
 		}
 	}
 
-	private Collection<LineComponent> buildWaveLines(final Map<WaveMonster, Integer> wave)
+	private void addTimerLines(final ConfigSnapshot config)
 	{
-		final List<Map.Entry<WaveMonster, Integer>> monsters = new ArrayList<>(wave.entrySet());
-		monsters.sort(Comparator.comparingInt(entry -> entry.getKey().getLevel()));
-		final List<LineComponent> outputLines = new ArrayList<>();
+		if (!config.isShowSplitTimer() || !splitTimer.isRunning())
+		{
+			return;
+		}
+
+		addLine(WAVE_TIME_LABEL, WaveSplitTimer.formatTicks(splitTimer.getWaveElapsedTicks()), Color.WHITE);
+		addLine(RUN_TIME_LABEL, WaveSplitTimer.formatTicks(splitTimer.getRunElapsedTicks()), Color.WHITE);
 
-		for (Map.Entry<WaveMonster, Integer> monsterEntry : monsters)
+		if (config.isShowPersonalBest())
 		{
-			final WaveMonster monster = monsterEntry.getKey();
-			final int quantity = monsterEntry.getValue();
-			final LineComponent line = LineComponent.builder()
-				.left(FightCaveWavesPlugin.formatMonsterQuantity(monster, quantity, config.commonNames(), config.showMonsterLevel()))
-				.build();
+			final int split = splitTimer.isCompleted() ? WaveSplitTimer.COMPLETION_INDEX : splitTimer.getCurrentWave();
+			final int personalBestTicks = personalBests.getComparisonSplit(split);
+			final int ticks = splitTimer.getSplit(split);
+			if (personalBestTicks != WaveSplitTimer.NO_TICK && ticks != WaveSplitTimer.NO_TICK)
+			{
+				final int delta = ticks - personalBestTicks;
+				addLine(PERSONAL_BEST_LABEL, WaveSplitTimer.formatTickDelta(delta), delta <= 0 ? AHEAD_COLOR : BEHIND_COLOR);
+			}
+		}
+	}
 
-			outputLines.add(line);
+	private void addLine(final String left, final String right, final Color rightColor)
+	{
+		if (renderedDirect)
+		{
+			textBlock.addLine(left, right, rightColor);
+		}
+		else
+		{
+			panelComponent.getChildren().add(LineComponent.builder()
+				.left(left)
+				.right(right)
+				.rightColor(rightColor)
+				.build());
 		}
+	}
 
-		return outputLines;
+	private void addRow(final WaveRow row)
+	{
+		if (renderedDirect)
+		{
+			textBlock.addTitle(row.header, HEADER_COLOR);
+			for (final String line : row.lines)
+			{
+				textBlock.addLine(line);
+			}
+		}
+		else
+		{
+			panelComponent.getChildren().addAll(row.components);
+		}
+	}
+
+	private WaveRow buildRow(final int waveIndex)
+	{
+		final String header = displayStringCache.waveHeader(renderedCave, waveIndex + 1);
+		final List<String> lines = new ArrayList<>();
+		renderedWaves.forEachMonster(waveIndex, (monster, quantity) ->
+			lines.add(displayStringCache.monsterLine(renderedCave, monster, quantity)));
+
+		final List<LayoutableRenderableEntity> components = new ArrayList<>(lines.size() + 1);
+		if (!renderedDirect)
+		{
+			components.add(TitleComponent.builder()
+				.text(header)
+				.color(HEADER_COLOR)
+				.build());
+			for (final String line : lines)
+			{
+				components.add(LineComponent.builder()
+					.left(line)
+					.build());
+			}
+		}
+
+		return new WaveRow(header, lines, components);
+	}
+
+	private void addMonsterLine(final WaveMonster monster, final int quantity)
+	{
+		final String line = displayStringCache.monsterLine(renderedCave, monster, quantity);
+		if (addingAliveCounts)
+		{
+			addLine(line, DisplayStringCache.aliveCount(npcTracker.getAlive(renderedCave, monster), quantity), Color.WHITE);
+			return;
+		}
+
+		if (renderedDirect)
+		{
+			textBlock.addLine(line);
+		}
+		else
+		{
+			panelComponent.getChildren().add(LineComponent.builder()
+				.left(line)
+				.build());
+		}
+	}
+
+	/**
+	 * A single wave's header and monster lines in lookahead mode, along with the panel components which display them
+	 * when not rendering directly.
+	 */
+	@RequiredArgsConstructor
+	private static final class WaveRow
+	{
+		private final String header;
+		private final List<String> lines;
+		private final List<LayoutableRenderableEntity> components;
 	}
 }
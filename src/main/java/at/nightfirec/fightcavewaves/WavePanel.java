@@ -0,0 +1,286 @@
+/*
+ * Copyright (c) 2026, Jordan Atwood <nightfirecat@nightfirec.at>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package at.nightfirec.fightcavewaves;
+
+import com.google.common.annotations.VisibleForTesting;
+import java.awt.BorderLayout;
+import java.awt.Color;
+import java.awt.Component;
+import java.awt.Rectangle;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.ObjIntConsumer;
+import javax.annotation.Nullable;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import javax.swing.AbstractListModel;
+import javax.swing.BorderFactory;
+import javax.swing.BoxLayout;
+import javax.swing.JLabel;
+import javax.swing.JList;
+import javax.swing.JPanel;
+import javax.swing.JScrollPane;
+import javax.swing.ListCellRenderer;
+import javax.swing.ListSelectionModel;
+import javax.swing.SwingUtilities;
+import lombok.Getter;
+import net.runelite.client.ui.ColorScheme;
+import net.runelite.client.ui.FontManager;
+import net.runelite.client.ui.PluginPanel;
+
+/**
+ * A side panel listing every wave of the current cave, with the current wave highlighted.
+ * <p>
+ * Waves are shown in a {@link JList} over a model which holds no per-wave state, drawn by a single reused cell renderer,
+ * so the panel holds one component tree however many waves it lists. Run state updates may be posted from any thread
+ * and are coalesced into at most one pending Swing task, which applies only the most recent state and repaints only the
+ * rows whose highlighting changed.
+ * <p>
+ * No wave table is read until the first cave is shown, so creating the panel does not build any cave's table.
+ */
+@Singleton
+class WavePanel extends PluginPanel
+{
+	private static final Color HEADER_COLOR = ColorScheme.BRAND_ORANGE;
+	private static final Color CURRENT_WAVE_BACKGROUND = ColorScheme.DARK_GRAY_HOVER_COLOR;
+	private static final Color WAVE_BACKGROUND = ColorScheme.DARKER_GRAY_COLOR;
+	// A wave never contains more distinct monsters than its cave has
+	private static final int MAX_WAVE_MONSTERS = Math.max(FightCaveMonster.values().length, InfernoMonster.values().length);
+
+	private final DisplayStringCache displayStringCache;
+	private final WaveListModel model = new WaveListModel();
+	private final JList<Integer> list = new JList<>(model);
+	private final JLabel title = new JLabel();
+
+	private final AtomicBoolean flushScheduled = new AtomicBoolean();
+	private final Runnable flush = this::flush;
+	private volatile CaveRunState pendingState = CaveRunState.INITIAL;
+	@Nullable
+	private volatile ConfigSnapshot pendingConfig;
+
+	// The following are only accessed on the Swing EDT
+	@Nullable
+	private ConfigSnapshot shownConfig;
+	/**
+	 * The index of the highlighted wave, or {@code -1} if no wave is in progress
+	 */
+	@Getter
+	private int highlightedIndex = -1;
+	/**
+	 * The number of times pending updates have been applied on the Swing EDT
+	 */
+	@Getter
+	private int flushes;
+
+	@Inject
+	WavePanel(final DisplayStringCache displayStringCache)
+	{
+		super(false);
+		this.displayStringCache = displayStringCache;
+
+		setLayout(new BorderLayout(0, 5));
+		setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
+		setBackground(ColorScheme.DARK_GRAY_COLOR);
+
+		title.setFont(FontManager.getRunescapeBoldFont());
+		title.setForeground(Color.WHITE);
+		add(title, BorderLayout.NORTH);
+
+		list.setCellRenderer(new WaveCellRenderer());
+		list.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+		list.setFocusable(false);
+		list.setBackground(WAVE_BACKGROUND);
+		final JScrollPane scrollPane = new JScrollPane(list);
+		scrollPane.setBorder(null);
+		scrollPane.getVerticalScrollBar().setUnitIncrement(16);
+		add(scrollPane, BorderLayout.CENTER);
+	}
+
+	/**
+	 * Posts the current run state and config to the panel. This may be called from any thread, and never waits on
+	 * Swing: the state is applied by a single pending EDT task, which is only scheduled if none is pending already.
+	 */
+	void update(final CaveRunState state, final ConfigSnapshot config)
+	{
+		if (state == pendingState && config == pendingConfig)
+		{
+			return;
+		}
+
+		pendingConfig = config;
+		pendingState = state;
+		if (flushScheduled.compareAndSet(false, true))
+		{
+			SwingUtilities.invokeLater(flush);
+		}
+	}
+
+	@VisibleForTesting
+	JList<Integer> getList()
+	{
+		return list;
+	}
+
+	private void flush()
+	{
+		// Cleared before reading, so any state posted from here on schedules another flush
+		flushScheduled.set(false);
+		final CaveRunState state = pendingState;
+		final ConfigSnapshot config = pendingConfig;
+		flushes++;
+
+		final CaveType cave = state.getCave();
+		if (cave != null && cave != model.cave)
+		{
+			highlightedIndex = -1;
+			title.setText(cave.getName());
+			model.setCave(cave);
+		}
+		else if (config != shownConfig)
+		{
+			// Monster names or levels may have changed, so every row must be measured again
+			model.refresh();
+		}
+		shownConfig = config;
+
+		final int highlighted = cave == null ? -1 : state.getDisplayedWave() - 1;
+		if (highlighted == highlightedIndex)
+		{
+			return;
+		}
+
+		final int previous = highlightedIndex;
+		highlightedIndex = highlighted;
+		repaintRow(previous);
+		repaintRow(highlighted);
+		if (highlighted >= 0 && highlighted < model.getSize())
+		{
+			list.ensureIndexIsVisible(highlighted);
+		}
+	}
+
+	private void repaintRow(final int index)
+	{
+		if (index < 0 || index >= model.getSize())
+		{
+			return;
+		}
+
+		final Rectangle bounds = list.getCellBounds(index, index);
+		if (bounds != null)
+		{
+			list.repaint(bounds);
+		}
+	}
+
+	/**
+	 * A list model of wave indexes, which is empty until its first cave is set. Each wave's contents are read from the
+	 * wave table as it is rendered.
+	 */
+	private static final class WaveListModel extends AbstractListModel<Integer>
+	{
+		@Nullable
+		private CaveType cave;
+		@Nullable
+		private WaveTable waves;
+
+		void setCave(final CaveType cave)
+		{
+			final int previousSize = getSize();
+			this.cave = cave;
+			waves = WaveTables.forCave(cave);
+			fireContentsChanged(this, 0, Math.max(previousSize, waves.size()) - 1);
+		}
+
+		void refresh()
+		{
+			if (getSize() > 0)
+			{
+				fireContentsChanged(this, 0, getSize() - 1);
+			}
+		}
+
+		@Override
+		public int getSize()
+		{
+			return waves == null ? 0 : waves.size();
+		}
+
+		@Override
+		public Integer getElementAt(final int index)
+		{
+			return index;
+		}
+	}
+
+	/**
+	 * Renders every row with the same component, filling a header label and one label per monster in the wave
+	 */
+	private final class WaveCellRenderer extends JPanel implements ListCellRenderer<Integer>
+	{
+		private final JLabel header = new JLabel();
+		private final JLabel[] monsterLabels = new JLabel[MAX_WAVE_MONSTERS];
+		private final ObjIntConsumer<WaveMonster> fillMonsterLabel = this::fillMonsterLabel;
+		private int filledLabels;
+
+		WaveCellRenderer()
+		{
+			setLayout(new BoxLayout(this, BoxLayout.Y_AXIS));
+			setBorder(BorderFactory.createEmptyBorder(4, 6, 4, 6));
+			header.setForeground(HEADER_COLOR);
+			add(header);
+
+			for (int i = 0; i < monsterLabels.length; i++)
+			{
+				monsterLabels[i] = new JLabel();
+				monsterLabels[i].setForeground(ColorScheme.LIGHT_GRAY_COLOR);
+				add(monsterLabels[i]);
+			}
+		}
+
+		@Override
+		public Component getListCellRendererComponent(final JList<? extends Integer> list, final Integer value, final int index,
+			final boolean isSelected, final boolean cellHasFocus)
+		{
+			final CaveType cave = model.cave;
+			header.setText(displayStringCache.waveHeader(cave, index + 1));
+			setBackground(index == highlightedIndex ? CURRENT_WAVE_BACKGROUND : WAVE_BACKGROUND);
+
+			filledLabels = 0;
+			model.waves.forEachMonster(index, fillMonsterLabel);
+			for (int i = filledLabels; i < monsterLabels.length; i++)
+			{
+				monsterLabels[i].setVisible(false);
+			}
+			return this;
+		}
+
+		private void fillMonsterLabel(final WaveMonster monster, final int quantity)
+		{
+			final JLabel label = monsterLabels[filledLabels++];
+			label.setText(displayStringCache.monsterLine(model.cave, monster, quantity));
+			label.setVisible(true);
+		}
+	}
+}
@@ -0,0 +1,242 @@
+/*
+ * Copyright (c) 2026, Jordan Atwood <nightfirecat@nightfirec.at>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package at.nightfirec.fightcavewaves;
+
+import java.util.Arrays;
+import javax.inject.Singleton;
+import lombok.Getter;
+
+/**
+ * Tracks the game tick on which each wave of the current run started, and on which the run was completed.
+ * <p>
+ * Splits are held in a preallocated array indexed by wave number, and every method only reads and writes primitive
+ * fields, so updating the timer on each game tick never allocates. All methods must be called from the client thread.
+ */
+@Singleton
+class WaveSplitTimer
+{
+	static final int NO_TICK = -1;
+	static final int MILLIS_PER_TICK = 600;
+	/**
+	 * The split index holding the run's completion, following the last wave of either cave
+	 */
+	static final int COMPLETION_INDEX = FightCaveWavesPlugin.MAX_INFERNO_WAVE + 1;
+	static final int SPLIT_COUNT = COMPLETION_INDEX + 1;
+
+	// two hours
+	private static final int MAX_CACHED_TIME_STRINGS = 12_000;
+	private static final String[] TIME_STRINGS = new String[MAX_CACHED_TIME_STRINGS];
+	private static final String[] NEGATIVE_DELTA_STRINGS = new String[MAX_CACHED_TIME_STRINGS];
+	private static final String[] POSITIVE_DELTA_STRINGS = new String[MAX_CACHED_TIME_STRINGS];
+
+	// indexed by wave number, or COMPLETION_INDEX; NO_TICK for waves which have not yet started
+	private final int[] waveStartTicks = new int[SPLIT_COUNT];
+
+	@Getter
+	private int currentTick = NO_TICK;
+	@Getter
+	private int currentWave = -1;
+	private int runStartTick = NO_TICK;
+	private int runStartWave = -1;
+
+	WaveSplitTimer()
+	{
+		Arrays.fill(waveStartTicks, NO_TICK);
+	}
+
+	void onTick(final int tick)
+	{
+		currentTick = tick;
+	}
+
+	/**
+	 * Records the start of a wave on the current tick. A wave's first start is kept if the wave is started again, such
+	 * as when an Inferno wave's completion is followed by the next wave's start message. Starting wave 1 begins a new
+	 * run, and starting any other wave while no run is in progress begins a partial run from that wave, such as when
+	 * resuming a paused run after logging back in.
+	 */
+	void waveStarted(final int wave)
+	{
+		if (wave <= 0 || wave >= COMPLETION_INDEX)
+		{
+			return;
+		}
+
+		if (wave == 1 || runStartTick == NO_TICK)
+		{
+			reset();
+			runStartTick = currentTick;
+			runStartWave = wave;
+		}
+
+		if (waveStartTicks[wave] == NO_TICK)
+		{
+			waveStartTicks[wave] = currentTick;
+		}
+		currentWave = wave;
+	}
+
+	/**
+	 * Records the completion of the current run on the current tick, stopping the timer.
+	 */
+	void runCompleted()
+	{
+		if (isRunning() && !isCompleted())
+		{
+			waveStartTicks[COMPLETION_INDEX] = currentTick;
+		}
+	}
+
+	void reset()
+	{
+		Arrays.fill(waveStartTicks, NO_TICK);
+		runStartTick = NO_TICK;
+		runStartWave = -1;
+		currentWave = -1;
+	}
+
+	boolean isRunning()
+	{
+		return runStartTick != NO_TICK;
+	}
+
+	boolean isCompleted()
+	{
+		return waveStartTicks[COMPLETION_INDEX] != NO_TICK;
+	}
+
+	/**
+	 * @return Whether the current run was timed from its first wave, rather than resumed partway through
+	 */
+	boolean isFullRun()
+	{
+		return runStartWave == 1;
+	}
+
+	/**
+	 * @return The number of ticks from the start of the run to the start of the given wave (or {@link
+	 * #COMPLETION_INDEX}), or {@link #NO_TICK} if it has not started
+	 */
+	int getSplit(final int wave)
+	{
+		final int tick = getWaveStartTick(wave);
+		return tick == NO_TICK ? NO_TICK : tick - runStartTick;
+	}
+
+	/**
+	 * @return The tick on which the given wave started in the current run, or {@link #NO_TICK} if it has not started
+	 */
+	int getWaveStartTick(final int wave)
+	{
+		if (wave <= 0 || wave >= SPLIT_COUNT)
+		{
+			return NO_TICK;
+		}
+
+		return waveStartTicks[wave];
+	}
+
+	/**
+	 * @return The number of ticks since the current wave started, or 0 if no run is in progress
+	 */
+	int getWaveElapsedTicks()
+	{
+		if (!isRunning() || currentWave <= 0)
+		{
+			return 0;
+		}
+
+		return getEndTick() - waveStartTicks[currentWave];
+	}
+
+	/**
+	 * @return The number of ticks since the current run started, or 0 if no run is in progress
+	 */
+	int getRunElapsedTicks()
+	{
+		if (!isRunning())
+		{
+			return 0;
+		}
+
+		return getEndTick() - runStartTick;
+	}
+
+	private int getEndTick()
+	{
+		return isCompleted() ? waveStartTicks[COMPLETION_INDEX] : currentTick;
+	}
+
+	/**
+	 * Formats a number of game ticks as a duration, e.g. {@code "1:23.4"}. Durations are cached once formatted, so
+	 * repeatedly formatting the same duration does not allocate.
+	 */
+	static String formatTicks(final int ticks)
+	{
+		if (ticks < 0 || ticks >= MAX_CACHED_TIME_STRINGS)
+		{
+			return formatMillis((long) ticks * MILLIS_PER_TICK);
+		}
+
+		String formatted = TIME_STRINGS[ticks];
+		if (formatted == null)
+		{
+			formatted = formatMillis((long) ticks * MILLIS_PER_TICK);
+			TIME_STRINGS[ticks] = formatted;
+		}
+		return formatted;
+	}
+
+	/**
+	 * Formats the difference between two splits, e.g. {@code "+0:04.2"} or {@code "-1:10.8"}. Like {@link
+	 * #formatTicks(int)}, formatted differences are cached.
+	 */
+	static String formatTickDelta(final int ticks)
+	{
+		final String[] cache = ticks >= 0 ? POSITIVE_DELTA_STRINGS : NEGATIVE_DELTA_STRINGS;
+		final int magnitude = Math.abs(ticks);
+		if (magnitude >= MAX_CACHED_TIME_STRINGS)
+		{
+			return (ticks >= 0 ? "+" : "-") + formatMillis((long) magnitude * MILLIS_PER_TICK);
+		}
+
+		String formatted = cache[magnitude];
+		if (formatted == null)
+		{
+			formatted = (ticks >= 0 ? "+" : "-") + formatMillis((long) magnitude * MILLIS_PER_TICK);
+			cache[magnitude] = formatted;
+		}
+		return formatted;
+	}
+
+	private static String formatMillis(final long millis)
+	{
+		final long absolute = Math.abs(millis);
+		final long minutes = absolute / 60_000;
+		final long seconds = absolute / 1000 % 60;
+		final long tenths = absolute / 100 % 10;
+		return String.format("%s%d:%02d.%d", millis < 0 ? "-" : "", minutes, seconds, tenths);
+	}
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2026, Jordan Atwood <nightfirecat@nightfirec.at>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package at.nightfirec.fightcavewaves;
+
+import lombok.Getter;
+
+/**
+ * Cumulative monster counts for each wave of a {@link WaveTable}, allowing constant-time queries of how many monsters
+ * of a given kind or type spawn between any two waves.
+ * <p>
+ * Each prefix array holds one row per wave plus a final row, where row {@code w} contains the total counts of all waves
+ * before wave index {@code w}. The count of monsters within a range of waves is then the difference of two rows.
+ */
+final class WaveStatistics
+{
+	private static final int TYPE_COUNT = WaveMonsterType.values().length;
+
+	private final int size;
+	private final int monsterCount;
+	// indexed by waveIndex * monsterCount + monster ordinal
+	private final int[] monsterPrefix;
+	// indexed by waveIndex * TYPE_COUNT + type ordinal
+	private final int[] typePrefix;
+	// indexed by waveIndex
+	private final int[] totalPrefix;
+
+	/**
+	 * The index of the first wave in which the cave's final boss spawns, or the number of waves if it never spawns
+	 */
+	@Getter
+	private final int bossWaveIndex;
+
+	/**
+	 * @param waves    The table to count monsters from
+	 * @param bossType The type of the cave's final boss, e.g. {@link WaveMonsterType#JAD} in the Fight Caves
+	 */
+	WaveStatistics(final WaveTable waves, final WaveMonsterType bossType)
+	{
+		final WaveMonster[] monsters = waves.getMonsters();
+		size = waves.size();
+		monsterCount = monsters.length;
+		monsterPrefix = new int[(size + 1) * monsterCount];
+		typePrefix = new int[(size + 1) * TYPE_COUNT];
+		totalPrefix = new int[size + 1];
+
+		int bossWave = size;
+		for (int waveIndex = 0; waveIndex < size; waveIndex++)
+		{
+			final int monsterRow = waveIndex * monsterCount;
+			final int typeRow = waveIndex * TYPE_COUNT;
+			System.arraycopy(monsterPrefix, monsterRow, monsterPrefix, monsterRow + monsterCount, monsterCount);
+			System.arraycopy(typePrefix, typeRow, typePrefix, typeRow + TYPE_COUNT, TYPE_COUNT);
+			totalPrefix[waveIndex + 1] = totalPrefix[waveIndex];
+
+			for (final WaveMonster monster : monsters)
+			{
+				final int count = waves.count(waveIndex, monster);
+				monsterPrefix[monsterRow + monsterCount + monster.ordinal()] += count;
+				typePrefix[typeRow + TYPE_COUNT + monster.getType().ordinal()] += count;
+				totalPrefix[waveIndex + 1] += count;
+
+				if (count > 0 && monster.getType() == bossType && bossWave == size)
+				{
+					bossWave = waveIndex;
+				}
+			}
+		}
+		bossWaveIndex = bossWave;
+	}
+
+	/**
+	 * @return The number of waves in the underlying table
+	 */
+	int size()
+	{
+		return size;
+	}
+
+	/**
+	 * @return The number of the given monster which spawn from the given wave index to the final wave, inclusive
+	 */
+	int remaining(final int waveIndex, final WaveMonster monster)
+	{
+		checkWaveIndex(waveIndex);
+		return monsterPrefix[size * monsterCount + monster.ordinal()] - monsterPrefix[waveIndex * monsterCount + monster.ordinal()];
+	}
+
+	/**
+	 * @return The number of monsters of the given type which spawn from the given wave index to the final wave, inclusive
+	 */
+	int remaining(final int waveIndex, final WaveMonsterType type)
+	{
+		checkWaveIndex(waveIndex);
+		return typePrefix[size * TYPE_COUNT + type.ordinal()] - typePrefix[waveIndex * TYPE_COUNT + type.ordinal()];
+	}
+
+	/**
+	 * @return The total number of monsters which spawn from the given wave index up to, but not including, the first
+	 * wave of the cave's final boss
+	 */
+	int remainingBeforeBoss(final int waveIndex)
+	{
+		checkWaveIndex(waveIndex);
+		if (waveIndex >= bossWaveIndex)
+		{
+			return 0;
+		}
+
+		return totalPrefix[bossWaveIndex] - totalPrefix[waveIndex];
+	}
+
+	/**
+	 * @return The number of waves from the given wave index up to, but not including, the first wave of the cave's final
+	 * boss
+	 */
+	int wavesBeforeBoss(final int waveIndex)
+	{
+		checkWaveIndex(waveIndex);
+		return Math.max(0, bossWaveIndex - waveIndex);
+	}
+
+	private void checkWaveIndex(final int waveIndex)
+	{
+		if (waveIndex < 0 || waveIndex >= size)
+		{
+			throw new IndexOutOfBoundsException("Wave index " + waveIndex + " is out of bounds for " + size + " waves");
+		}
+	}
+}
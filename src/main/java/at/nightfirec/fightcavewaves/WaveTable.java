@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2026, Jordan Atwood <nightfirecat@nightfirec.at>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package at.nightfirec.fightcavewaves;
+
+import com.google.common.collect.ImmutableMap;
+import java.util.AbstractList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ObjIntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * An immutable table of the monsters which spawn on each wave of a wave-based minigame.
+ * <p>
+ * Monster counts are packed into a single {@code short[]} indexed by {@code waveIndex * monsterCount + ordinal}, so
+ * lookups and iteration over a wave's contents do not allocate.
+ */
+final class WaveTable
+{
+	private final WaveMonster[] monsters;
+	private final short[] counts;
+	private final int size;
+	// monster ordinals, sorted by ascending monster level
+	private final int[] levelOrder;
+
+	/**
+	 * @param monsters All monsters which may appear in this table, indexed by their ordinal
+	 * @param counts   Packed monster counts, indexed by {@code waveIndex * monsters.length + ordinal}
+	 */
+	WaveTable(final WaveMonster[] monsters, final short[] counts)
+	{
+		if (monsters.length == 0 || counts.length % monsters.length != 0)
+		{
+			throw new IllegalArgumentException("Wave counts do not align with the given monsters");
+		}
+
+		this.monsters = monsters.clone();
+		this.counts = counts.clone();
+		this.size = counts.length / monsters.length;
+		this.levelOrder = IntStream.range(0, monsters.length)
+			.boxed()
+			.sorted(Comparator.comparingInt(ordinal -> monsters[ordinal].getLevel()))
+			.mapToInt(Integer::intValue)
+			.toArray();
+	}
+
+	/**
+	 * @return All monsters which may appear in this table, indexed by their ordinal
+	 */
+	WaveMonster[] getMonsters()
+	{
+		return monsters.clone();
+	}
+
+	/**
+	 * @return The number of waves in this table
+	 */
+	int size()
+	{
+		return size;
+	}
+
+	int count(final int waveIndex, final WaveMonster monster)
+	{
+		return counts[rowOffset(waveIndex) + monster.ordinal()];
+	}
+
+	/**
+	 * Passes each monster which spawns on the given wave, along with its quantity, to the given consumer in order of
+	 * ascending monster level.
+	 */
+	void forEachMonster(final int waveIndex, final ObjIntConsumer<WaveMonster> consumer)
+	{
+		final int offset = rowOffset(waveIndex);
+
+		for (final int ordinal : levelOrder)
+		{
+			final int count = counts[offset + ordinal];
+			if (count > 0)
+			{
+				consumer.accept(monsters[ordinal], count);
+			}
+		}
+	}
+
+	/**
+	 * Creates a read-only view of this table as a list of per-wave monster quantity maps. Each map is built on access,
+	 * so this should not be used on any hot path.
+	 */
+	List<Map<WaveMonster, Integer>> asMaps()
+	{
+		return new AbstractList<Map<WaveMonster, Integer>>()
+		{
+			@Override
+			public Map<WaveMonster, Integer> get(final int waveIndex)
+			{
+				final ImmutableMap.Builder<WaveMonster, Integer> builder = ImmutableMap.builder();
+				forEachMonster(waveIndex, builder::put);
+				return builder.build();
+			}
+
+			@Override
+			public int size()
+			{
+				return size;
+			}
+		};
+	}
+
+	private int rowOffset(final int waveIndex)
+	{
+		if (waveIndex < 0 || waveIndex >= size)
+		{
+			throw new IndexOutOfBoundsException("Wave index " + waveIndex + " is out of bounds for " + size + " waves");
+		}
+
+		return waveIndex * monsters.length;
+	}
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2026, Jordan Atwood <nightfirecat@nightfirec.at>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package at.nightfirec.fightcavewaves;
+
+/**
+ * Provides the wave table and cumulative wave statistics for each cave. Wave contents are compiled at build time from
+ * the rules in the generator's {@code wave-rules.txt} resource into the generated {@code FightCaveWaveData} and
+ * {@code InfernoWaveData} classes, and each cave's table and statistics are only created the first time they are
+ * requested.
+ */
+final class WaveTables
+{
+	private WaveTables()
+	{
+	}
+
+	static WaveTable forCave(final CaveType cave)
+	{
+		switch(cave)
+		{
+			case FIGHT_CAVE:
+				return FightCaveHolder.WAVES;
+			case INFERNO:
+				return InfernoHolder.WAVES;
+			default:
+				throw new IllegalArgumentException("Unknown cave type: " + cave);
+		}
+	}
+
+	static WaveStatistics statisticsForCave(final CaveType cave)
+	{
+		switch(cave)
+		{
+			case FIGHT_CAVE:
+				return FightCaveHolder.STATISTICS;
+			case INFERNO:
+				return InfernoHolder.STATISTICS;
+			default:
+				throw new IllegalArgumentException("Unknown cave type: " + cave);
+		}
+	}
+
+	// The holder classes are not initialized until first accessed, and the JVM guarantees their initialization happens
+	// exactly once, even when first accessed from multiple threads.
+	private static final class FightCaveHolder
+	{
+		static final WaveTable WAVES = new WaveTable(FightCaveMonster.values(), FightCaveWaveData.COUNTS);
+		static final WaveStatistics STATISTICS = new WaveStatistics(WAVES, CaveType.FIGHT_CAVE.getBossType());
+	}
+
+	private static final class InfernoHolder
+	{
+		static final WaveTable WAVES = new WaveTable(InfernoMonster.values(), InfernoWaveData.COUNTS);
+		static final WaveStatistics STATISTICS = new WaveStatistics(WAVES, CaveType.INFERNO.getBossType());
+	}
+}
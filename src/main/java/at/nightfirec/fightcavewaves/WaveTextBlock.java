@@ -0,0 +1,245 @@
+/*
+ * Copyright (c) 2026, Jordan Atwood <nightfirecat@nightfirec.at>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package at.nightfirec.fightcavewaves;
+
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.util.Arrays;
+import lombok.Getter;
+import net.runelite.client.ui.overlay.components.BackgroundComponent;
+import net.runelite.client.ui.overlay.components.ComponentConstants;
+import net.runelite.client.ui.overlay.components.LayoutableRenderableEntity;
+
+/**
+ * A fixed block of title and text lines which is drawn in the same style as a {@link
+ * net.runelite.client.ui.overlay.components.PanelComponent} holding {@link
+ * net.runelite.client.ui.overlay.components.TitleComponent}s and {@link
+ * net.runelite.client.ui.overlay.components.LineComponent}s.
+ * <p>
+ * Line positions are measured once, and then only again when the lines, font or preferred size change, so each frame
+ * draws the background and issues only {@link Graphics2D#drawString(String, int, int)} calls. Unlike {@code
+ * LineComponent}, lines which are wider than the panel are not wrapped; the panel is widened to fit them instead.
+ */
+class WaveTextBlock implements LayoutableRenderableEntity
+{
+	private static final int BORDER = ComponentConstants.STANDARD_BORDER;
+	private static final int SHADOW_OFFSET = 1;
+	// the vertical gap PanelComponent leaves between its children
+	private static final int LINE_GAP = 1;
+	// minimum space between the left and right text of a line
+	private static final int RIGHT_TEXT_GAP = 4;
+
+	@Getter
+	private final Rectangle bounds = new Rectangle();
+	private final BackgroundComponent background = new BackgroundComponent();
+	private final Point preferredLocation = new Point();
+	private int preferredWidth = ComponentConstants.STANDARD_WIDTH;
+
+	private String[] texts = new String[16];
+	private Color[] colors = new Color[16];
+	private boolean[] centered = new boolean[16];
+	private String[] rightTexts = new String[16];
+	private Color[] rightColors = new Color[16];
+	private int[] xs = new int[16];
+	private int[] rightXs = new int[16];
+	private int[] ys = new int[16];
+	private int lineCount;
+
+	private Font laidOutFont;
+	private boolean layoutValid;
+	// Returned from every render rather than copied, since the overlay renderer only reads it
+	private final Dimension dimension = new Dimension();
+
+	WaveTextBlock()
+	{
+		background.setBackgroundColor(ComponentConstants.STANDARD_BACKGROUND_COLOR);
+	}
+
+	void clear()
+	{
+		Arrays.fill(texts, 0, lineCount, null);
+		Arrays.fill(colors, 0, lineCount, null);
+		Arrays.fill(rightTexts, 0, lineCount, null);
+		Arrays.fill(rightColors, 0, lineCount, null);
+		lineCount = 0;
+		layoutValid = false;
+	}
+
+	void addTitle(final String text, final Color color)
+	{
+		add(text, color, true, null, null);
+	}
+
+	void addLine(final String text)
+	{
+		add(text, Color.WHITE, false, null, null);
+	}
+
+	/**
+	 * Adds a line with text at both its left and right edges, like a {@code LineComponent} with both sides set.
+	 */
+	void addLine(final String left, final String right, final Color rightColor)
+	{
+		add(left, Color.WHITE, false, right, rightColor);
+	}
+
+	int getLineCount()
+	{
+		return lineCount;
+	}
+
+	@Override
+	public Dimension render(Graphics2D graphics)
+	{
+		if (lineCount == 0)
+		{
+			return null;
+		}
+
+		final Font font = graphics.getFont();
+		if (!layoutValid || font != laidOutFont)
+		{
+			layout(graphics.getFontMetrics(font));
+			laidOutFont = font;
+			layoutValid = true;
+		}
+
+		final int baseX = preferredLocation.x;
+		final int baseY = preferredLocation.y;
+
+		background.render(graphics);
+
+		for (int i = 0; i < lineCount; i++)
+		{
+			final int x = baseX + xs[i];
+			final int y = baseY + ys[i];
+			graphics.setColor(Color.BLACK);
+			graphics.drawString(texts[i], x + SHADOW_OFFSET, y + SHADOW_OFFSET);
+			graphics.setColor(colors[i]);
+			graphics.drawString(texts[i], x, y);
+
+			final String right = rightTexts[i];
+			if (right != null)
+			{
+				final int rightX = baseX + rightXs[i];
+				graphics.setColor(Color.BLACK);
+				graphics.drawString(right, rightX + SHADOW_OFFSET, y + SHADOW_OFFSET);
+				graphics.setColor(rightColors[i]);
+				graphics.drawString(right, rightX, y);
+			}
+		}
+
+		return dimension;
+	}
+
+	@Override
+	public void setPreferredLocation(Point position)
+	{
+		if (!preferredLocation.equals(position))
+		{
+			preferredLocation.setLocation(position);
+			layoutValid = false;
+		}
+	}
+
+	@Override
+	public void setPreferredSize(Dimension dimension)
+	{
+		final int width = dimension == null || dimension.width <= 0 ? ComponentConstants.STANDARD_WIDTH : dimension.width;
+		if (width != preferredWidth)
+		{
+			preferredWidth = width;
+			layoutValid = false;
+		}
+	}
+
+	private void add(final String text, final Color color, final boolean center, final String right, final Color rightColor)
+	{
+		if (lineCount == texts.length)
+		{
+			final int capacity = lineCount * 2;
+			texts = Arrays.copyOf(texts, capacity);
+			colors = Arrays.copyOf(colors, capacity);
+			centered = Arrays.copyOf(centered, capacity);
+			rightTexts = Arrays.copyOf(rightTexts, capacity);
+			rightColors = Arrays.copyOf(rightColors, capacity);
+			xs = Arrays.copyOf(xs, capacity);
+			rightXs = Arrays.copyOf(rightXs, capacity);
+			ys = Arrays.copyOf(ys, capacity);
+		}
+
+		texts[lineCount] = text;
+		colors[lineCount] = color;
+		centered[lineCount] = center;
+		rightTexts[lineCount] = right;
+		rightColors[lineCount] = rightColor;
+		lineCount++;
+		layoutValid = false;
+	}
+
+	private void layout(final FontMetrics metrics)
+	{
+		final int lineHeight = metrics.getHeight();
+
+		int contentWidth = preferredWidth - BORDER * 2;
+		for (int i = 0; i < lineCount; i++)
+		{
+			int lineWidth = metrics.stringWidth(texts[i]);
+			if (rightTexts[i] != null)
+			{
+				lineWidth += metrics.stringWidth(rightTexts[i]) + RIGHT_TEXT_GAP;
+			}
+			contentWidth = Math.max(contentWidth, lineWidth);
+		}
+
+		int y = BORDER;
+		for (int i = 0; i < lineCount; i++)
+		{
+			if (i > 0)
+			{
+				y += LINE_GAP;
+			}
+			y += lineHeight;
+			xs[i] = centered[i]
+				? BORDER + (contentWidth - metrics.stringWidth(texts[i])) / 2
+				: BORDER;
+			ys[i] = y;
+			if (rightTexts[i] != null)
+			{
+				rightXs[i] = BORDER + contentWidth - metrics.stringWidth(rightTexts[i]);
+			}
+		}
+
+		dimension.setSize(contentWidth + BORDER * 2, y + BORDER);
+		background.setRectangle(new Rectangle(preferredLocation, dimension));
+		bounds.setLocation(preferredLocation);
+		bounds.setSize(dimension);
+	}
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2026, Jordan Atwood <nightfirecat@nightfirec.at>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package at.nightfirec.fightcavewaves;
+
+import java.util.Arrays;
+import java.util.function.IntFunction;
+import lombok.Getter;
+
+/**
+ * A window over a contiguous run of waves, holding one row for each wave within it. Rows are kept in a ring buffer, so
+ * when the window slides forward the rows for waves which remain visible are kept as-is, and only the rows for newly
+ * visible waves are built.
+ *
+ * @param <T> The type of row built for each wave
+ */
+final class WaveWindow<T>
+{
+	private final IntFunction<T> rowFactory;
+
+	// ring buffer of rows, the first of which is at rows[head]
+	private Object[] rows = new Object[0];
+	private int head;
+	private int size;
+	private int firstWaveIndex = -1;
+
+	/**
+	 * The total number of rows built by this window's row factory, for testing and diagnostics
+	 */
+	@Getter
+	private long rowsBuilt;
+
+	/**
+	 * @param rowFactory Builds the row for a given wave index
+	 */
+	WaveWindow(final IntFunction<T> rowFactory)
+	{
+		this.rowFactory = rowFactory;
+	}
+
+	/**
+	 * Discards all rows, such as when the contents of each row would be built differently.
+	 */
+	void clear()
+	{
+		Arrays.fill(rows, null);
+		head = 0;
+		size = 0;
+		firstWaveIndex = -1;
+	}
+
+	/**
+	 * Moves this window to cover {@code size} waves starting at the given wave index, building rows only for waves which
+	 * were not previously within the window.
+	 */
+	void moveTo(final int firstWaveIndex, final int size)
+	{
+		final int shift = firstWaveIndex - this.firstWaveIndex;
+		if (this.firstWaveIndex < 0 || shift < 0 || shift >= this.size || size == 0)
+		{
+			clear();
+		}
+		else if (shift > 0)
+		{
+			for (int i = 0; i < shift; i++)
+			{
+				rows[(head + i) % rows.length] = null;
+			}
+			head = (head + shift) % rows.length;
+			this.size -= shift;
+		}
+
+		if (size > rows.length)
+		{
+			grow(size);
+		}
+
+		for (int i = size; i < this.size; i++)
+		{
+			rows[(head + i) % rows.length] = null;
+		}
+
+		for (int i = Math.min(this.size, size); i < size; i++)
+		{
+			rows[(head + i) % rows.length] = rowFactory.apply(firstWaveIndex + i);
+			rowsBuilt++;
+		}
+
+		this.size = size;
+		this.firstWaveIndex = size == 0 ? -1 : firstWaveIndex;
+	}
+
+	int size()
+	{
+		return size;
+	}
+
+	/**
+	 * @return The row for the {@code i}th wave in this window
+	 */
+	@SuppressWarnings("unchecked")
+	T get(final int i)
+	{
+		if (i < 0 || i >= size)
+		{
+			throw new IndexOutOfBoundsException("Row " + i + " is out of bounds for " + size + " rows");
+		}
+
+		return (T) rows[(head + i) % rows.length];
+	}
+
+	private void grow(final int capacity)
+	{
+		final Object[] grown = new Object[capacity];
+		for (int i = 0; i < size; i++)
+		{
+			grown[i] = rows[(head + i) % rows.length];
+		}
+		rows = grown;
+		head = 0;
+	}
+}
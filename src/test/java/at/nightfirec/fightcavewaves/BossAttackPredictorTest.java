@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2026, Jordan Atwood <nightfirecat@nightfirec.at>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package at.nightfirec.fightcavewaves;
+
+import net.runelite.api.AnimationID;
+import net.runelite.api.NpcID;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+public class BossAttackPredictorTest
+{
+	private final BossAttackPredictor predictor = new BossAttackPredictor();
+
+	@Test
+	public void testAttackCycle()
+	{
+		assertTrue(predictor.spawned(5, NpcID.TZTOKJAD));
+		assertEquals(BossAttackPredictor.UNKNOWN, predictor.getTicksUntilAttack(0));
+		assertNull(predictor.getLastStyle(0));
+
+		// Non-attack animations are ignored
+		assertFalse(predictor.animationChanged(5, 808, 100));
+		assertTrue(predictor.animationChanged(5, AnimationID.TZTOK_JAD_MAGIC_ATTACK, 100));
+		assertEquals(AttackStyle.MAGIC, predictor.getLastStyle(0));
+		assertEquals(8, predictor.getAttackInterval(0));
+		predictor.onTick(103);
+		assertEquals(5, predictor.getTicksUntilAttack(0));
+
+		// A pause between attacks does not lengthen the predicted interval
+		predictor.animationChanged(5, AnimationID.TZTOK_JAD_RANGE_ATTACK, 120);
+		predictor.animationChanged(5, AnimationID.TZTOK_JAD_MELEE_ATTACK, 127);
+		assertEquals(7, predictor.getAttackInterval(0));
+		assertEquals(AttackStyle.MELEE, predictor.getLastStyle(0));
+		predictor.onTick(130);
+		assertEquals(4, predictor.getTicksUntilAttack(0));
+
+		// An overdue attack is imminent
+		predictor.onTick(140);
+		assertEquals(0, predictor.getTicksUntilAttack(0));
+
+		// Older attacks leave the ring buffer
+		for (int tick = 200; tick < 300; tick += 9)
+		{
+			predictor.animationChanged(5, AnimationID.TZTOK_JAD_MAGIC_ATTACK, tick);
+		}
+		assertEquals(9, predictor.getAttackInterval(0));
+	}
+
+	@Test
+	public void testTripleJad()
+	{
+		assertTrue(predictor.spawned(1, NpcID.JALTOKJAD));
+		assertTrue(predictor.spawned(2, NpcID.JALTOKJAD));
+		assertTrue(predictor.spawned(3, NpcID.JALTOKJAD));
+		assertFalse(predictor.spawned(3, NpcID.JALTOKJAD));
+		assertFalse(predictor.spawned(4, NpcID.JALTOKJAD));
+		assertFalse(predictor.spawned(6, NpcID.TZKIH_3116));
+		assertEquals(3, predictor.getTrackedCount());
+
+		predictor.animationChanged(1, AnimationID.JALTOK_JAD_MAGE_ATTACK, 10);
+		predictor.animationChanged(2, AnimationID.JALTOK_JAD_RANGE_ATTACK, 12);
+		predictor.onTick(13);
+		assertEquals(AttackStyle.MAGIC, predictor.getLastStyle(0));
+		assertEquals(5, predictor.getTicksUntilAttack(0));
+		assertEquals(AttackStyle.RANGED, predictor.getLastStyle(1));
+		assertEquals(7, predictor.getTicksUntilAttack(1));
+		assertNull(predictor.getLastStyle(2));
+
+		// A despawned Jad's slot is reused by the next boss
+		assertTrue(predictor.despawned(2));
+		assertFalse(predictor.despawned(2));
+		assertNull(predictor.getBoss(1));
+		assertTrue(predictor.spawned(7, NpcID.TZKALZUK));
+		assertEquals(BossAttackPredictor.Boss.TZKAL_ZUK, predictor.getBoss(1));
+		assertTrue(predictor.animationChanged(7, BossAttackPredictor.TZKAL_ZUK_ATTACK_ANIMATION, 20));
+		assertEquals(AttackStyle.TYPELESS, predictor.getLastStyle(1));
+		assertEquals(10, predictor.getAttackInterval(1));
+
+		predictor.reset();
+		assertEquals(0, predictor.getTrackedCount());
+		assertFalse(predictor.animationChanged(1, AnimationID.JALTOK_JAD_MAGE_ATTACK, 30));
+	}
+
+	@Test
+	public void testTickDoesNotAllocate()
+	{
+		final AllocationMeter meter = AllocationMeter.assumeSupported();
+
+		for (int i = 1; i <= BossAttackPredictor.MAX_TRACKED; i++)
+		{
+			predictor.spawned(i, NpcID.JALTOKJAD);
+		}
+
+		// Warm up so that class loading and compilation are not measured
+		runTicks(0);
+		meter.assertDoesNotAllocate(() -> runTicks(100_000));
+	}
+
+	private void runTicks(final int start)
+	{
+		for (int tick = start; tick < start + 100_000; tick++)
+		{
+			if (tick % 8 == 0)
+			{
+				predictor.animationChanged(1 + tick % BossAttackPredictor.MAX_TRACKED, AnimationID.JALTOK_JAD_MAGE_ATTACK, tick);
+			}
+			predictor.onTick(tick);
+		}
+	}
+}
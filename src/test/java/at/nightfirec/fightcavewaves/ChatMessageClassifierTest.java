@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2026, Jordan Atwood <nightfirecat@nightfirec.at>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package at.nightfirec.fightcavewaves;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+public class ChatMessageClassifierTest
+{
+	// The patterns which were previously used to classify cave messages
+	private static final Pattern WAVE_PATTERN = Pattern.compile(".*Wave: (\\d+).*");
+	private static final String INFERNO_WAVE_COMPLETE = "Wave completed!";
+	private static final Pattern PAUSE_PATTERN = Pattern.compile(".+The (?:Fight Cave|Inferno) has been paused\\. You may now log out\\.");
+
+	private static final String[] GAME_MESSAGES = {
+		"<col=ef1020>Wave: 1</col>",
+		"<col=ef1020>Wave: 2</col>",
+		"<col=ef1020>Wave: 10</col>",
+		"<col=ef1020>Wave: 62</col>",
+		"<col=ef1020>Wave: 63</col>",
+		"<col=ef1020>Wave: 66</col>",
+		"<col=ef1020>Wave: 69</col>",
+		"Wave completed!",
+		"<col=ef1020>The Fight Cave has been paused. You may now log out.",
+		"<col=ef1020>The Inferno has been paused. You may now log out.",
+		" <col=ef1020>Your logout request has been received. The minigame will be paused at the end of this wave.<br><col=ef1020>If you try to log out before that, you will have to repeat this wave.",
+		"<col=ef1020>Your logout request has been received. The minigame will be paused at the end of this wave.",
+		"<col=ef1020>Final Challenge...</col>",
+		"<col=ef1020>Look out, here it comes...</col>",
+		"You were defeated by TzTok-Jad!",
+		"Oh dear, you are dead!",
+		"Your TzKal-Zuk kill count",
+		"Your Jal-Nib kill count is: <col=ff0000>300</col>.",
+		"Fight duration: <col=ff0000>52:21</col>. Personal best: 48:02",
+		"Duration: <col=ff0000>1:05:43</col> (new personal best)",
+		"You have been poisoned!",
+		"Your prayer has run out.",
+		"You have run out of prayer points, you can recharge at an altar.",
+		"You can't log out until the end of the wave.",
+		"Welcome to Old School RuneScape.",
+		"You enter the Fight Cave.",
+		"You enter the Inferno.",
+		"<col=ef1020>Wave: 1</col> <col=ef1020>Wave: 2</col>",
+		"Wave: ",
+		"Wave: x",
+		"Wave:1",
+		"wave: 4",
+		"Wave: 007",
+		"Wave: 0",
+		"Wave: 12abc",
+		"The Inferno has been paused. You may now log out.",
+		"XThe Inferno has been paused. You may now log out.",
+		"<col=ef1020>The Inferno has been paused. You may now log out. ",
+		"<col=ef1020>Wave: 3\n</col>",
+		"<col=ef1020>The Fight Cave has been paused.\rYou may now log out.",
+		"\u2028The Inferno has been paused. You may now log out.",
+		"Wave: 2147483647",
+		"",
+		"Wave completed!!",
+	};
+
+	// Boss kill counts, which the previous patterns did not classify
+	private static final String[] RUN_COMPLETE_MESSAGES = {
+		"Your TzTok-Jad kill count is: <col=ff0000>12</col>.",
+		"Your TzKal-Zuk kill count is: <col=ff0000>3</col>.",
+		"Your TzTok-Jad kill count is: <col=ff0000>1</col>.<br>Wave: 5",
+	};
+
+	@Test
+	public void testMatchesPatternClassification()
+	{
+		for (String message : GAME_MESSAGES)
+		{
+			assertEquals(message, patternClassify(message), ChatMessageClassifier.classify(message));
+		}
+	}
+
+	@Test
+	public void testRunComplete()
+	{
+		for (String message : RUN_COMPLETE_MESSAGES)
+		{
+			assertEquals(message, ChatMessageClassifier.RUN_COMPLETE, ChatMessageClassifier.classify(message));
+		}
+	}
+
+	@Test
+	public void testWaveNumbers()
+	{
+		assertEquals(1, ChatMessageClassifier.classify("<col=ef1020>Wave: 1</col>"));
+		assertEquals(69, ChatMessageClassifier.classify("<col=ef1020>Wave: 69</col>"));
+		assertEquals(2, ChatMessageClassifier.classify("<col=ef1020>Wave: 1</col> <col=ef1020>Wave: 2</col>"));
+		assertEquals(ChatMessageClassifier.IRRELEVANT, ChatMessageClassifier.classify("Wave: 99999999999"));
+	}
+
+	@Test
+	public void testRunStart()
+	{
+		assertTrue(ChatMessageClassifier.isRunStart(ChatMessageClassifier.classify("<col=ef1020>Wave: 1</col>")));
+		assertFalse(ChatMessageClassifier.isRunStart(ChatMessageClassifier.classify("<col=ef1020>Wave: 2</col>")));
+		assertFalse(ChatMessageClassifier.isRunStart(ChatMessageClassifier.classify("Wave: 0")));
+		assertFalse(ChatMessageClassifier.isRunStart(ChatMessageClassifier.INFERNO_WAVE_COMPLETE));
+	}
+
+	private static int patternClassify(final String message)
+	{
+		if (INFERNO_WAVE_COMPLETE.equals(message))
+		{
+			return ChatMessageClassifier.INFERNO_WAVE_COMPLETE;
+		}
+
+		if (PAUSE_PATTERN.matcher(message).matches())
+		{
+			return ChatMessageClassifier.PAUSED;
+		}
+
+		final Matcher waveMatcher = WAVE_PATTERN.matcher(message);
+		if (!waveMatcher.matches())
+		{
+			return ChatMessageClassifier.IRRELEVANT;
+		}
+
+		return Integer.parseInt(waveMatcher.group(1));
+	}
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2026, Jordan Atwood <nightfirecat@nightfirec.at>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package at.nightfirec.fightcavewaves;
+
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import net.runelite.client.ui.overlay.RenderableEntity;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Records the text drawn by a render, as a transcript of each string drawn and its colour with text shadows left out.
+ */
+final class DrawnText
+{
+	static final String NOTHING_RENDERED = "(nothing rendered)\n";
+
+	private DrawnText()
+	{
+	}
+
+	/**
+	 * Renders the given entity to a scratch image.
+	 *
+	 * @see #render(RenderableEntity, Graphics2D)
+	 */
+	static String render(final RenderableEntity entity)
+	{
+		final Graphics2D graphics = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB).createGraphics();
+		try
+		{
+			return render(entity, graphics);
+		}
+		finally
+		{
+			graphics.dispose();
+		}
+	}
+
+	/**
+	 * Renders the given entity to the given graphics.
+	 *
+	 * @return Each string drawn in a colour other than the black of text shadows, one per line such as {@code "#ffffff
+	 * 1x Tz-Kih"}, or {@link #NOTHING_RENDERED} if the entity rendered nothing
+	 */
+	static String render(final RenderableEntity entity, final Graphics2D graphics)
+	{
+		final StringBuilder transcript = new StringBuilder();
+		final Graphics2D recording = mock(Graphics2D.class, invocation ->
+		{
+			if (invocation.getMethod().getName().equals("drawString")
+				&& invocation.getArgument(0) instanceof String
+				&& !Color.BLACK.equals(graphics.getColor()))
+			{
+				transcript.append(String.format("#%06x ", graphics.getColor().getRGB() & 0xFFFFFF))
+					.append((String) invocation.getArgument(0))
+					.append('\n');
+			}
+			return invocation.getMethod().invoke(graphics, invocation.getArguments());
+		});
+
+		final Dimension dimension = entity.render(recording);
+		return dimension == null ? NOTHING_RENDERED : transcript.toString();
+	}
+}
@@ -26,29 +26,47 @@ package at.nightfirec.fightcavewaves;
 
 import com.google.common.collect.ImmutableMap;
 import com.google.inject.Guice;
+import com.google.inject.Scopes;
 import com.google.inject.testing.fieldbinder.Bind;
 import com.google.inject.testing.fieldbinder.BoundFieldModule;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ScheduledExecutorService;
 import javax.inject.Inject;
+import javax.swing.SwingUtilities;
+import net.runelite.api.AnimationID;
 import net.runelite.api.ChatMessageType;
 import net.runelite.api.Client;
 import net.runelite.api.GameState;
+import net.runelite.api.NPC;
+import net.runelite.api.NpcID;
+import net.runelite.api.events.AnimationChanged;
 import net.runelite.api.events.ChatMessage;
 import net.runelite.api.events.GameStateChanged;
+import net.runelite.api.events.GameTick;
+import net.runelite.api.events.NpcDespawned;
+import net.runelite.api.events.NpcSpawned;
 import net.runelite.client.RuneLite;
 import net.runelite.client.config.ConfigManager;
+import net.runelite.client.events.ConfigChanged;
 import net.runelite.client.externalplugins.ExternalPluginManager;
+import net.runelite.client.ui.ClientToolbar;
 import net.runelite.client.ui.overlay.OverlayManager;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import static org.mockito.ArgumentMatchers.any;
 import org.mockito.Mock;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import org.mockito.junit.MockitoJUnitRunner;
 
@@ -75,9 +93,34 @@ public class FightCaveWavesPluginTest
 	@Bind
 	private OverlayManager overlayManager;
 
+	@Mock
+	@Bind
+	private ClientToolbar clientToolbar;
+
 	@Inject
 	private FightCaveWavesPlugin plugin;
 
+	@Inject
+	private DisplayStringCache displayStringCache;
+
+	@Inject
+	private PluginMetrics metrics;
+
+	@Inject
+	private WaveOverlay waveOverlay;
+
+	@Inject
+	private WaveSplitTimer splitTimer;
+
+	@Inject
+	private NpcTracker npcTracker;
+
+	@Inject
+	private BossAttackPredictor bossAttackPredictor;
+
+	@Inject
+	private WavePanel wavePanel;
+
 	private static final GameStateChanged LOGGED_IN = new GameStateChanged();
 
 	static
@@ -94,13 +137,17 @@ public class FightCaveWavesPluginTest
 	@Before
 	public void before()
 	{
-		Guice.createInjector(BoundFieldModule.of(this)).injectMembers(this);
+		// The plugin and its overlay inject each other, which Guice can only resolve while the plugin is a singleton
+		Guice.createInjector(
+			BoundFieldModule.of(this),
+			binder -> binder.bind(FightCaveWavesPlugin.class).in(Scopes.SINGLETON))
+			.injectMembers(this);
 	}
 
 	@Test
 	public void checkFightCaveWaves()
 	{
-		final List<Map<WaveMonster, Integer>> waves = FightCaveWavesPlugin.getFIGHT_CAVE_WAVES();
+		final List<Map<WaveMonster, Integer>> waves = WaveTables.forCave(CaveType.FIGHT_CAVE).asMaps();
 
 		assertEquals(FightCaveWavesPlugin.MAX_FIGHT_CAVE_WAVE, waves.size());
 
@@ -134,7 +181,7 @@ public class FightCaveWavesPluginTest
 	@Test
 	public void checkInfernoWaves()
 	{
-		final List<Map<WaveMonster, Integer>> waves = FightCaveWavesPlugin.getINFERNO_WAVES();
+		final List<Map<WaveMonster, Integer>> waves = WaveTables.forCave(CaveType.INFERNO).asMaps();
 
 		assertEquals(FightCaveWavesPlugin.MAX_INFERNO_WAVE, waves.size());
 
@@ -226,11 +273,12 @@ public class FightCaveWavesPluginTest
 	public void testFightCaveWave()
 	{
 		when(client.getMapRegions()).thenReturn(new int[]{ FightCaveWavesPlugin.FIGHT_CAVE_REGION });
+		plugin.onGameStateChanged(LOGGED_IN);
 
 		plugin.onChatMessage(new ChatMessage(null, ChatMessageType.GAMEMESSAGE, "", "<col=ef1020>Wave: 1</col>", "", 0));
 
 		assertEquals(1, plugin.getCurrentWave());
-		assertEquals(FightCaveWavesPlugin.FIGHT_CAVE_WAVES, plugin.getActiveWaves());
+		assertEquals(WaveTables.forCave(CaveType.FIGHT_CAVE), plugin.getActiveWaves());
 		assertFalse(plugin.isPaused());
 
 		plugin.onChatMessage(new ChatMessage(null, ChatMessageType.GAMEMESSAGE, "", "<col=ef1020>The Fight Cave has been paused. You may now log out.", "", 0));
@@ -243,11 +291,12 @@ public class FightCaveWavesPluginTest
 	public void testInfernoWave()
 	{
 		when(client.getMapRegions()).thenReturn(new int[]{ FightCaveWavesPlugin.INFERNO_REGION});
+		plugin.onGameStateChanged(LOGGED_IN);
 
 		plugin.onChatMessage(new ChatMessage(null, ChatMessageType.GAMEMESSAGE, "", "<col=ef1020>Wave: 1</col>", "", 0));
 
 		assertEquals(1, plugin.getCurrentWave());
-		assertEquals(FightCaveWavesPlugin.INFERNO_WAVES, plugin.getActiveWaves());
+		assertEquals(WaveTables.forCave(CaveType.INFERNO), plugin.getActiveWaves());
 		assertFalse(plugin.isPaused());
 
 		plugin.onChatMessage(new ChatMessage(null, ChatMessageType.GAMEMESSAGE, "", " <col=ef1020>Your logout request has been received. The minigame will be paused at the end of this wave.<br><col=ef1020>If you try to log out before that, you will have to repeat this wave.", "", 0));
@@ -261,6 +310,392 @@ public class FightCaveWavesPluginTest
 		assertTrue(plugin.isPaused());
 	}
 
+	@Test
+	public void testStateVersion()
+	{
+		when(client.getMapRegions()).thenReturn(new int[]{ FightCaveWavesPlugin.INFERNO_REGION});
+		plugin.onGameStateChanged(LOGGED_IN);
+
+		int stateVersion = plugin.getStateVersion();
+		plugin.onChatMessage(new ChatMessage(null, ChatMessageType.GAMEMESSAGE, "", "<col=ef1020>Wave: 1</col>", "", 0));
+		assertNotEquals(stateVersion, plugin.getStateVersion());
+
+		stateVersion = plugin.getStateVersion();
+		plugin.onChatMessage(new ChatMessage(null, ChatMessageType.GAMEMESSAGE, "", "You have been poisoned!", "", 0));
+		assertEquals(stateVersion, plugin.getStateVersion());
+
+		final ConfigChanged configChanged = new ConfigChanged();
+		configChanged.setGroup("runelite");
+		plugin.onConfigChanged(configChanged);
+		assertEquals(stateVersion, plugin.getStateVersion());
+
+		configChanged.setGroup(FightCaveWavesConfig.GROUP);
+		plugin.onConfigChanged(configChanged);
+		assertNotEquals(stateVersion, plugin.getStateVersion());
+	}
+
+	@Test
+	public void testRunState()
+	{
+		when(client.getMapRegions()).thenReturn(new int[]{ FightCaveWavesPlugin.INFERNO_REGION});
+		plugin.onGameStateChanged(LOGGED_IN);
+
+		final CaveRunState initial = plugin.getRunState();
+		assertNull(initial.getCave());
+		assertNull(initial.getWaves());
+		assertEquals(-1, initial.getWave());
+
+		plugin.onChatMessage(new ChatMessage(null, ChatMessageType.GAMEMESSAGE, "", "<col=ef1020>Wave: 1</col>", "", 0));
+		final CaveRunState started = plugin.getRunState();
+		plugin.onChatMessage(new ChatMessage(null, ChatMessageType.GAMEMESSAGE, "", "Wave completed!", "", 0));
+		plugin.onChatMessage(new ChatMessage(null, ChatMessageType.GAMEMESSAGE, "", "<col=ef1020>The Inferno has been paused. You may now log out.", "", 0));
+		final CaveRunState paused = plugin.getRunState();
+
+		// Previously published snapshots are never modified by later transitions
+		assertNull(initial.getCave());
+		assertEquals(CaveType.INFERNO, started.getCave());
+		assertEquals(1, started.getWave());
+		assertFalse(started.isPaused());
+
+		assertEquals(CaveType.INFERNO, paused.getCave());
+		assertEquals(2, paused.getWave());
+		assertEquals(1, paused.getDisplayedWave());
+		assertTrue(paused.isPaused());
+		assertEquals(WaveTables.forCave(CaveType.INFERNO), paused.getWaves());
+		assertTrue(initial.getVersion() < started.getVersion());
+		assertTrue(started.getVersion() < paused.getVersion());
+
+		when(client.getMapRegions()).thenReturn(new int[]{ 1 });
+		plugin.onGameStateChanged(LOGGED_IN);
+		final CaveRunState reset = plugin.getRunState();
+		assertNull(reset.getCave());
+		assertEquals(-1, reset.getDisplayedWave());
+		assertFalse(reset.isPaused());
+		assertTrue(paused.getVersion() < reset.getVersion());
+	}
+
+	@Test
+	public void testDisplayStringCache() throws Exception
+	{
+		when(config.commonNames()).thenReturn(true);
+		when(config.showMonsterLevel()).thenReturn(true);
+		plugin.startUp();
+
+		for (CaveType cave : CaveType.values())
+		{
+			final WaveTable waves = WaveTables.forCave(cave);
+			for (int waveIndex = 0; waveIndex < waves.size(); waveIndex++)
+			{
+				assertEquals("Wave " + (waveIndex + 1), displayStringCache.waveHeader(cave, waveIndex + 1));
+				waves.forEachMonster(waveIndex, (monster, quantity) ->
+					assertEquals(FightCaveWavesPlugin.formatMonsterQuantity(monster, quantity, true, true), displayStringCache.monsterLine(cave, monster, quantity)));
+			}
+		}
+
+		assertEquals("3x Nibbler - Level 32", displayStringCache.monsterLine(CaveType.INFERNO, InfernoMonster.JAL_NIB, 3));
+		assertEquals("Jad in 1 wave (2 monsters)", displayStringCache.summaryLine(CaveType.FIGHT_CAVE, 62));
+		assertNull(displayStringCache.summaryLine(CaveType.FIGHT_CAVE, 63));
+		assertNull(displayStringCache.summaryLine(CaveType.INFERNO, 69));
+	}
+
+	@Test
+	public void testMetrics() throws Exception
+	{
+		when(client.getMapRegions()).thenReturn(new int[]{ FightCaveWavesPlugin.FIGHT_CAVE_REGION });
+		plugin.startUp();
+		plugin.onGameStateChanged(LOGGED_IN);
+		plugin.onChatMessage(new ChatMessage(null, ChatMessageType.GAMEMESSAGE, "", "<col=ef1020>Wave: 1</col>", "", 0));
+
+		assertFalse(metrics.isEnabled());
+		assertEquals(0, metrics.getCalls(PluginMetrics.Probe.CHAT_MESSAGE));
+
+		when(config.debugMetrics()).thenReturn(true);
+		final ConfigChanged configChanged = new ConfigChanged();
+		configChanged.setGroup(FightCaveWavesConfig.GROUP);
+		plugin.onConfigChanged(configChanged);
+
+		assertTrue(metrics.isEnabled());
+		plugin.onGameStateChanged(LOGGED_IN);
+		plugin.onChatMessage(new ChatMessage(null, ChatMessageType.GAMEMESSAGE, "", "<col=ef1020>Wave: 2</col>", "", 0));
+		plugin.onChatMessage(new ChatMessage(null, ChatMessageType.GAMEMESSAGE, "", "You have been poisoned!", "", 0));
+
+		assertEquals(1, metrics.getCalls(PluginMetrics.Probe.GAME_STATE_CHANGED));
+		assertEquals(2, metrics.getCalls(PluginMetrics.Probe.CHAT_MESSAGE));
+		assertEquals(2, plugin.getCurrentWave());
+
+		plugin.shutDown();
+		assertFalse(metrics.isEnabled());
+	}
+
+	@Test
+	public void testSidePanel() throws Exception
+	{
+		when(client.getMapRegions()).thenReturn(new int[]{ FightCaveWavesPlugin.INFERNO_REGION });
+		when(config.showSidePanel()).thenReturn(true);
+		plugin.startUp();
+		plugin.onGameStateChanged(LOGGED_IN);
+		plugin.onChatMessage(new ChatMessage(null, ChatMessageType.GAMEMESSAGE, "", "<col=ef1020>Wave: 4</col>", "", 0));
+		plugin.onGameTick(new GameTick());
+		// Unchanged state is not posted again
+		plugin.onGameTick(new GameTick());
+		SwingUtilities.invokeAndWait(() -> {});
+
+		assertEquals(3, wavePanel.getHighlightedIndex());
+		assertEquals(FightCaveWavesPlugin.MAX_INFERNO_WAVE, wavePanel.getList().getModel().getSize());
+		final int flushes = wavePanel.getFlushes();
+		plugin.onGameTick(new GameTick());
+		SwingUtilities.invokeAndWait(() -> {});
+		assertEquals(flushes, wavePanel.getFlushes());
+
+		when(config.showSidePanel()).thenReturn(false);
+		final ConfigChanged configChanged = new ConfigChanged();
+		configChanged.setGroup(FightCaveWavesConfig.GROUP);
+		plugin.onConfigChanged(configChanged);
+
+		verify(clientToolbar).addNavigation(any());
+		verify(clientToolbar).removeNavigation(any());
+	}
+
+	@Test
+	public void testLookahead() throws Exception
+	{
+		when(config.waveDisplay()).thenReturn(WaveDisplayMode.LOOKAHEAD);
+		when(config.lookaheadDepth()).thenReturn(5);
+		when(client.getMapRegions()).thenReturn(new int[]{ FightCaveWavesPlugin.INFERNO_REGION });
+		plugin.startUp();
+		plugin.onGameStateChanged(LOGGED_IN);
+
+		final Graphics2D graphics = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB).createGraphics();
+		plugin.onChatMessage(new ChatMessage(null, ChatMessageType.GAMEMESSAGE, "", "<col=ef1020>Wave: 1</col>", "", 0));
+		waveOverlay.render(graphics);
+		assertEquals(6, waveOverlay.getLookaheadRowsBuilt());
+
+		// Advancing a wave builds only the newly visible wave's row
+		plugin.onChatMessage(new ChatMessage(null, ChatMessageType.GAMEMESSAGE, "", "Wave completed!", "", 0));
+		waveOverlay.render(graphics);
+		assertEquals(7, waveOverlay.getLookaheadRowsBuilt());
+
+		// Rows are rebuilt when the config changes
+		final ConfigChanged configChanged = new ConfigChanged();
+		configChanged.setGroup(FightCaveWavesConfig.GROUP);
+		plugin.onConfigChanged(configChanged);
+		waveOverlay.render(graphics);
+		assertEquals(13, waveOverlay.getLookaheadRowsBuilt());
+
+		// The window is truncated at the final wave
+		plugin.onChatMessage(new ChatMessage(null, ChatMessageType.GAMEMESSAGE, "", "<col=ef1020>Wave: 68</col>", "", 0));
+		waveOverlay.render(graphics);
+		assertEquals(15, waveOverlay.getLookaheadRowsBuilt());
+		graphics.dispose();
+	}
+
+	@Test
+	public void testEventsBeforeStartUp()
+	{
+		when(config.showAliveCounts()).thenReturn(true);
+		when(config.showBossAttacks()).thenReturn(true);
+		when(client.getMapRegions()).thenReturn(new int[]{ FightCaveWavesPlugin.INFERNO_REGION });
+		// Inject a new plugin, whose initial config snapshot is taken from the config above
+		before();
+
+		plugin.onGameStateChanged(LOGGED_IN);
+		plugin.onNpcSpawned(new NpcSpawned(npc(NpcID.JALTOKJAD)));
+		plugin.onNpcDespawned(new NpcDespawned(npc(NpcID.JALTOKJAD)));
+		tick(100);
+
+		final GameStateChanged loginScreen = new GameStateChanged();
+		loginScreen.setGameState(GameState.LOGIN_SCREEN);
+		plugin.onGameStateChanged(loginScreen);
+		assertTrue(plugin.getConfigSnapshot().isShowAliveCounts());
+	}
+
+	@Test
+	public void testAliveCounts() throws Exception
+	{
+		when(config.waveDisplay()).thenReturn(WaveDisplayMode.CURRENT);
+		when(config.showAliveCounts()).thenReturn(true);
+		when(client.getMapRegions()).thenReturn(new int[]{ FightCaveWavesPlugin.INFERNO_REGION });
+		plugin.startUp();
+		plugin.onGameStateChanged(LOGGED_IN);
+		plugin.onChatMessage(new ChatMessage(null, ChatMessageType.GAMEMESSAGE, "", "<col=ef1020>Wave: 1</col>", "", 0));
+		assertEquals("#dc8a00 Wave 1\n"
+			+ "#ffffff 3x Jal-Nib\n#ffffff 0/3\n"
+			+ "#ffffff 1x Jal-MejRah\n#ffffff 0/1\n", DrawnText.render(waveOverlay));
+
+		final NPC nibbler = npc(NpcID.JALNIB);
+		final NPC bat = npc(NpcID.JALMEJRAH);
+		final NPC other = npc(NpcID.YTHURKOT_7701);
+		for (int i = 0; i < 3; i++)
+		{
+			plugin.onNpcSpawned(new NpcSpawned(nibbler));
+		}
+
+		int stateVersion = plugin.getStateVersion();
+		plugin.onNpcSpawned(new NpcSpawned(bat));
+		assertNotEquals(stateVersion, plugin.getStateVersion());
+		assertEquals("#dc8a00 Wave 1\n"
+			+ "#ffffff 3x Jal-Nib\n#ffffff 3/3\n"
+			+ "#ffffff 1x Jal-MejRah\n#ffffff 1/1\n", DrawnText.render(waveOverlay));
+
+		// NPCs which are not wave monsters are not tracked
+		stateVersion = plugin.getStateVersion();
+		plugin.onNpcSpawned(new NpcSpawned(other));
+		assertEquals(stateVersion, plugin.getStateVersion());
+
+		plugin.onNpcDespawned(new NpcDespawned(bat));
+		plugin.onNpcDespawned(new NpcDespawned(bat));
+		plugin.onNpcDespawned(new NpcDespawned(nibbler));
+		assertNotEquals(stateVersion, plugin.getStateVersion());
+		assertEquals(0, npcTracker.getAlive(CaveType.FIGHT_CAVE, FightCaveMonster.TZ_KIH));
+		assertEquals("#dc8a00 Wave 1\n"
+			+ "#ffffff 3x Jal-Nib\n#ffffff 2/3\n"
+			+ "#ffffff 1x Jal-MejRah\n#ffffff 0/1\n", DrawnText.render(waveOverlay));
+
+		assertSame(DisplayStringCache.aliveCount(2, 3), DisplayStringCache.aliveCount(2, 3));
+		assertEquals("4/3", DisplayStringCache.aliveCount(4, 3));
+
+		when(client.getMapRegions()).thenReturn(new int[]{ 1 });
+		plugin.onGameStateChanged(LOGGED_IN);
+		assertEquals(0, npcTracker.getAlive(CaveType.INFERNO, InfernoMonster.JAL_NIB));
+	}
+
+	@Test
+	public void testSplitTzKekIsNotCounted() throws Exception
+	{
+		when(config.waveDisplay()).thenReturn(WaveDisplayMode.CURRENT);
+		when(config.showAliveCounts()).thenReturn(true);
+		when(client.getMapRegions()).thenReturn(new int[]{ FightCaveWavesPlugin.FIGHT_CAVE_REGION });
+		plugin.startUp();
+		plugin.onGameStateChanged(LOGGED_IN);
+		plugin.onChatMessage(new ChatMessage(null, ChatMessageType.GAMEMESSAGE, "", "<col=ef1020>Wave: 3</col>", "", 0));
+
+		final NPC tzKek = npc(NpcID.TZKEK_3118);
+		plugin.onNpcSpawned(new NpcSpawned(tzKek));
+		assertEquals("#dc8a00 Wave 3\n#ffffff 1x Tz-Kek\n#ffffff 1/1\n", DrawnText.render(waveOverlay));
+
+		// A killed Tz-Kek splits into two smaller Tz-Kek, which were not part of the wave's spawn
+		plugin.onNpcDespawned(new NpcDespawned(tzKek));
+		final int stateVersion = plugin.getStateVersion();
+		final NPC smallTzKek = npc(NpcID.TZKEK_3120);
+		plugin.onNpcSpawned(new NpcSpawned(smallTzKek));
+		plugin.onNpcSpawned(new NpcSpawned(smallTzKek));
+		assertEquals(stateVersion, plugin.getStateVersion());
+		assertEquals("#dc8a00 Wave 3\n#ffffff 1x Tz-Kek\n#ffffff 0/1\n", DrawnText.render(waveOverlay));
+
+		plugin.onNpcDespawned(new NpcDespawned(smallTzKek));
+		assertEquals(stateVersion, plugin.getStateVersion());
+		assertEquals(0, npcTracker.getAlive(CaveType.FIGHT_CAVE, FightCaveMonster.TZ_KEK));
+	}
+
+	@Test
+	public void testBossAttacks() throws Exception
+	{
+		when(config.waveDisplay()).thenReturn(WaveDisplayMode.CURRENT);
+		when(config.showBossAttacks()).thenReturn(true);
+		when(client.getMapRegions()).thenReturn(new int[]{ FightCaveWavesPlugin.INFERNO_REGION });
+		plugin.startUp();
+		plugin.onGameStateChanged(LOGGED_IN);
+		plugin.onChatMessage(new ChatMessage(null, ChatMessageType.GAMEMESSAGE, "", "<col=ef1020>Wave: 68</col>", "", 0));
+		final String waveLines = "#dc8a00 Wave 68\n#ffffff 3x JalTok-Jad\n";
+
+		final NPC jad = npc(NpcID.JALTOKJAD);
+		when(jad.getIndex()).thenReturn(12);
+		when(jad.getAnimation()).thenReturn(AnimationID.JALTOK_JAD_RANGE_ATTACK);
+		plugin.onNpcSpawned(new NpcSpawned(jad));
+		assertEquals(1, bossAttackPredictor.getTrackedCount());
+		assertEquals(waveLines + "#ffffff Jad\n#ffffff Waiting\n", DrawnText.render(waveOverlay));
+
+		tick(100);
+		final AnimationChanged animationChanged = new AnimationChanged();
+		animationChanged.setActor(jad);
+		int stateVersion = plugin.getStateVersion();
+		plugin.onAnimationChanged(animationChanged);
+		assertNotEquals(stateVersion, plugin.getStateVersion());
+		assertEquals(AttackStyle.RANGED, bossAttackPredictor.getLastStyle(0));
+		assertEquals(waveLines + "#ffffff Jad\n#00ff00 Ranged in 8\n", DrawnText.render(waveOverlay));
+
+		// Attack countdowns refresh the overlay every tick
+		stateVersion = plugin.getStateVersion();
+		tick(103);
+		assertNotEquals(stateVersion, plugin.getStateVersion());
+		assertEquals(5, bossAttackPredictor.getTicksUntilAttack(0));
+		assertEquals(waveLines + "#ffffff Jad\n#00ff00 Ranged in 5\n", DrawnText.render(waveOverlay));
+		assertEquals("Jad 2", DisplayStringCache.bossLabel(BossAttackPredictor.Boss.JALTOK_JAD, 1, true));
+
+		plugin.onNpcDespawned(new NpcDespawned(jad));
+		assertEquals(0, bossAttackPredictor.getTrackedCount());
+		assertEquals(waveLines, DrawnText.render(waveOverlay));
+		stateVersion = plugin.getStateVersion();
+		tick(104);
+		assertEquals(stateVersion, plugin.getStateVersion());
+	}
+
+	@Test
+	public void testSplitTimer() throws Exception
+	{
+		when(client.getMapRegions()).thenReturn(new int[]{ FightCaveWavesPlugin.INFERNO_REGION });
+		plugin.startUp();
+		plugin.onGameStateChanged(LOGGED_IN);
+
+		tick(100);
+		assertFalse(splitTimer.isRunning());
+		plugin.onChatMessage(new ChatMessage(null, ChatMessageType.GAMEMESSAGE, "", "<col=ef1020>Wave: 1</col>", "", 0));
+		assertTrue(splitTimer.isRunning());
+
+		tick(150);
+		plugin.onChatMessage(new ChatMessage(null, ChatMessageType.GAMEMESSAGE, "", "Wave completed!", "", 0));
+		tick(160);
+		// The next wave's start message does not move its split
+		plugin.onChatMessage(new ChatMessage(null, ChatMessageType.GAMEMESSAGE, "", "<col=ef1020>Wave: 2</col>", "", 0));
+		tick(175);
+
+		assertEquals(100, splitTimer.getWaveStartTick(1));
+		assertEquals(150, splitTimer.getWaveStartTick(2));
+		assertEquals(WaveSplitTimer.NO_TICK, splitTimer.getWaveStartTick(3));
+		assertEquals(25, splitTimer.getWaveElapsedTicks());
+		assertEquals(75, splitTimer.getRunElapsedTicks());
+
+		// The overlay is only refreshed each tick while the timer is shown
+		int stateVersion = plugin.getStateVersion();
+		tick(176);
+		assertEquals(stateVersion, plugin.getStateVersion());
+
+		when(config.showSplitTimer()).thenReturn(true);
+		final ConfigChanged configChanged = new ConfigChanged();
+		configChanged.setGroup(FightCaveWavesConfig.GROUP);
+		plugin.onConfigChanged(configChanged);
+		stateVersion = plugin.getStateVersion();
+		tick(177);
+		assertNotEquals(stateVersion, plugin.getStateVersion());
+
+		plugin.shutDown();
+		assertFalse(splitTimer.isRunning());
+	}
+
+	@Test
+	public void testFormatTicks()
+	{
+		assertEquals("0:00.0", WaveSplitTimer.formatTicks(0));
+		assertEquals("0:00.6", WaveSplitTimer.formatTicks(1));
+		assertEquals("1:00.0", WaveSplitTimer.formatTicks(100));
+		assertEquals("-0:03.0", WaveSplitTimer.formatTicks(-5));
+		assertEquals("120:00.0", WaveSplitTimer.formatTicks(12_000));
+		assertSame(WaveSplitTimer.formatTicks(1234), WaveSplitTimer.formatTicks(1234));
+	}
+
+	private static NPC npc(final int id)
+	{
+		final NPC npc = mock(NPC.class);
+		when(npc.getId()).thenReturn(id);
+		return npc;
+	}
+
+	private void tick(final int tickCount)
+	{
+		when(client.getTickCount()).thenReturn(tickCount);
+		plugin.onGameTick(new GameTick());
+	}
+
 	@Test
 	public void testWaveMonsterDisplayString()
 	{
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2026, Jordan Atwood <nightfirecat@nightfirec.at>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package at.nightfirec.fightcavewaves;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import net.runelite.api.NpcID;
+import org.junit.Test;
+
+public class NpcTrackerTest
+{
+	private final NpcTracker tracker = new NpcTracker();
+
+	@Test
+	public void testMonsterNpcIds()
+	{
+		assertArrayEquals(new int[]{NpcID.TZKIH_3116, NpcID.TZKIH_3117}, FightCaveMonster.TZ_KIH.getNpcIds());
+		assertArrayEquals(new int[]{NpcID.TZKEK_3118, NpcID.TZKEK_3119}, FightCaveMonster.TZ_KEK.getNpcIds());
+		assertArrayEquals(new int[]{NpcID.TOKXIL_3121, NpcID.TOKXIL_3122}, FightCaveMonster.TOK_XIL.getNpcIds());
+		assertArrayEquals(new int[]{NpcID.YTMEJKOT, NpcID.YTMEJKOT_3124}, FightCaveMonster.YT_MEJKOT.getNpcIds());
+		assertArrayEquals(new int[]{NpcID.KETZEK, NpcID.KETZEK_3126}, FightCaveMonster.KET_ZEK.getNpcIds());
+		assertArrayEquals(new int[]{NpcID.TZTOKJAD}, FightCaveMonster.TZTOK_JAD.getNpcIds());
+
+		assertArrayEquals(new int[]{NpcID.JALNIB}, InfernoMonster.JAL_NIB.getNpcIds());
+		assertArrayEquals(new int[]{NpcID.JALMEJRAH}, InfernoMonster.JAL_MEJRAH.getNpcIds());
+		assertArrayEquals(new int[]{NpcID.JALAK}, InfernoMonster.JAL_AK.getNpcIds());
+		assertArrayEquals(new int[]{NpcID.JALIMKOT}, InfernoMonster.JAL_IMKOT.getNpcIds());
+		assertArrayEquals(new int[]{NpcID.JALXIL}, InfernoMonster.JAL_XIL.getNpcIds());
+		assertArrayEquals(new int[]{NpcID.JALZEK}, InfernoMonster.JAL_ZEK.getNpcIds());
+		assertArrayEquals(new int[]{NpcID.JALTOKJAD}, InfernoMonster.JALTOK_JAD.getNpcIds());
+		assertArrayEquals(new int[]{NpcID.TZKALZUK}, InfernoMonster.TZKAL_ZUK.getNpcIds());
+	}
+
+	@Test
+	public void testNpcIds()
+	{
+		for (final FightCaveMonster monster : FightCaveMonster.values())
+		{
+			for (final int id : monster.getNpcIds())
+			{
+				assertTrue(tracker.spawned(CaveType.FIGHT_CAVE, id));
+			}
+			assertEquals(monster.getNpcIds().length, tracker.getAlive(CaveType.FIGHT_CAVE, monster));
+		}
+
+		// The small Tz-Kek split from a killed Tz-Kek, ids just outside the lookup, and other caves' monsters
+		assertFalse(tracker.spawned(CaveType.FIGHT_CAVE, NpcID.TZKEK_3120));
+		assertFalse(tracker.spawned(CaveType.FIGHT_CAVE, NpcID.TZKIH_3116 - 1));
+		assertFalse(tracker.spawned(CaveType.FIGHT_CAVE, NpcID.YTHURKOT));
+		assertFalse(tracker.spawned(CaveType.FIGHT_CAVE, NpcID.JALNIB));
+		assertEquals(2, tracker.getAlive(CaveType.FIGHT_CAVE, FightCaveMonster.TZ_KEK));
+	}
+
+	@Test
+	public void testDespawn()
+	{
+		tracker.spawned(CaveType.FIGHT_CAVE, NpcID.TZKIH_3116);
+		tracker.spawned(CaveType.FIGHT_CAVE, NpcID.TZKIH_3116);
+		assertTrue(tracker.despawned(CaveType.FIGHT_CAVE, NpcID.TZKIH_3116));
+		assertEquals(1, tracker.getAlive(CaveType.FIGHT_CAVE, FightCaveMonster.TZ_KIH));
+
+		// Counts never go negative, even if a spawn was missed
+		tracker.despawned(CaveType.FIGHT_CAVE, NpcID.TZKIH_3116);
+		tracker.despawned(CaveType.FIGHT_CAVE, NpcID.TZKIH_3116);
+		assertEquals(0, tracker.getAlive(CaveType.FIGHT_CAVE, FightCaveMonster.TZ_KIH));
+
+		// Entering another cave starts counting that cave's monsters
+		tracker.spawned(CaveType.FIGHT_CAVE, NpcID.TZTOKJAD);
+		assertTrue(tracker.spawned(CaveType.INFERNO, NpcID.TZKALZUK));
+		assertEquals(1, tracker.getAlive(CaveType.INFERNO, InfernoMonster.TZKAL_ZUK));
+		assertEquals(0, tracker.getAlive(CaveType.FIGHT_CAVE, FightCaveMonster.TZTOK_JAD));
+		assertFalse(tracker.despawned(CaveType.FIGHT_CAVE, NpcID.TZTOKJAD));
+
+		tracker.reset();
+		assertEquals(0, tracker.getAlive(CaveType.INFERNO, InfernoMonster.TZKAL_ZUK));
+	}
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2026, Jordan Atwood <nightfirecat@nightfirec.at>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package at.nightfirec.fightcavewaves;
+
+import com.google.gson.Gson;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class PersonalBestSplitsTest
+{
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	private final Gson gson = new Gson();
+	private ScheduledExecutorService executor;
+	private Path file;
+
+	@Before
+	public void before()
+	{
+		executor = Executors.newSingleThreadScheduledExecutor();
+		file = temporaryFolder.getRoot().toPath().resolve("fight-cave-waves").resolve(PersonalBestSplits.FILE_NAME);
+	}
+
+	@After
+	public void after()
+	{
+		executor.shutdownNow();
+	}
+
+	@Test
+	public void testPersonalBests() throws Exception
+	{
+		final PersonalBestSplits personalBests = new PersonalBestSplits(executor, gson, file);
+		personalBests.load();
+		await();
+		assertNull(personalBests.getPersonalBest(CaveType.FIGHT_CAVE));
+
+		assertTrue(personalBests.runCompleted(CaveType.FIGHT_CAVE, run(0, 10, 30, 100)));
+		assertFalse(personalBests.runCompleted(CaveType.FIGHT_CAVE, run(0, 5, 40, 101)));
+		assertTrue(personalBests.runCompleted(CaveType.FIGHT_CAVE, run(0, 20, 30, 90)));
+
+		// Partial and incomplete runs never become personal bests
+		final WaveSplitTimer partial = new WaveSplitTimer();
+		partial.waveStarted(2);
+		partial.runCompleted();
+		assertFalse(personalBests.runCompleted(CaveType.FIGHT_CAVE, partial));
+		final WaveSplitTimer incomplete = new WaveSplitTimer();
+		incomplete.waveStarted(1);
+		assertFalse(personalBests.runCompleted(CaveType.FIGHT_CAVE, incomplete));
+		await();
+
+		final PersonalBestSplits reloaded = new PersonalBestSplits(executor, gson, file);
+		reloaded.load();
+		await();
+
+		final int[] splits = reloaded.getPersonalBest(CaveType.FIGHT_CAVE);
+		assertEquals(WaveSplitTimer.SPLIT_COUNT, splits.length);
+		assertEquals(0, splits[1]);
+		assertEquals(20, splits[2]);
+		assertEquals(30, splits[3]);
+		assertEquals(WaveSplitTimer.NO_TICK, splits[4]);
+		assertEquals(90, splits[WaveSplitTimer.COMPLETION_INDEX]);
+		assertNull(reloaded.getPersonalBest(CaveType.INFERNO));
+
+		// only the personal best file is left behind
+		assertEquals(1, Files.list(file.getParent()).count());
+	}
+
+	@Test
+	public void testComparison()
+	{
+		final PersonalBestSplits personalBests = new PersonalBestSplits(executor, gson, file);
+		personalBests.runCompleted(CaveType.INFERNO, run(0, 25, 50, 75));
+
+		assertEquals(WaveSplitTimer.NO_TICK, personalBests.getComparisonSplit(2));
+
+		personalBests.startRun(CaveType.FIGHT_CAVE);
+		assertFalse(personalBests.isComparing());
+
+		personalBests.startRun(CaveType.INFERNO);
+		assertTrue(personalBests.isComparing());
+		assertEquals(25, personalBests.getComparisonSplit(2));
+		assertEquals(75, personalBests.getComparisonSplit(WaveSplitTimer.COMPLETION_INDEX));
+		assertEquals(WaveSplitTimer.NO_TICK, personalBests.getComparisonSplit(4));
+
+		personalBests.stopComparing();
+		assertEquals(WaveSplitTimer.NO_TICK, personalBests.getComparisonSplit(2));
+	}
+
+	@Test
+	public void testUnreadableFile() throws Exception
+	{
+		Files.createDirectories(file.getParent());
+		Files.write(file, "{\"FIGHT_CAVE\": [1, 2".getBytes(StandardCharsets.UTF_8));
+
+		final PersonalBestSplits personalBests = new PersonalBestSplits(executor, gson, file);
+		personalBests.load();
+		await();
+		assertNull(personalBests.getPersonalBest(CaveType.FIGHT_CAVE));
+	}
+
+	/**
+	 * Creates a completed run whose waves start on the given ticks, the last of which is its completion.
+	 */
+	private static WaveSplitTimer run(final int... ticks)
+	{
+		final WaveSplitTimer timer = new WaveSplitTimer();
+		for (int i = 0; i < ticks.length - 1; i++)
+		{
+			timer.onTick(ticks[i]);
+			timer.waveStarted(i + 1);
+		}
+		timer.onTick(ticks[ticks.length - 1]);
+		timer.runCompleted();
+		return timer;
+	}
+
+	private void await() throws Exception
+	{
+		executor.submit(() ->
+		{
+		}).get(5, TimeUnit.SECONDS);
+	}
+}
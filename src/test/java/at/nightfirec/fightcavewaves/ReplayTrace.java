@@ -0,0 +1,191 @@
+/*
+ * Copyright (c) 2026, Jordan Atwood <nightfirecat@nightfirec.at>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package at.nightfirec.fightcavewaves;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import javax.annotation.Nullable;
+
+/**
+ * A sequence of recorded run events to be replayed through the plugin by {@link RunReplayer}, optionally with the
+ * plugin state expected after each event.
+ */
+final class ReplayTrace
+{
+	private final String name;
+	private final List<RunRecording.Event> events;
+	private final List<ExpectedState> expectations;
+
+	private ReplayTrace(final String name, final List<RunRecording.Event> events, final List<ExpectedState> expectations)
+	{
+		this.name = name;
+		this.events = Collections.unmodifiableList(events);
+		this.expectations = Collections.unmodifiableList(expectations);
+	}
+
+	/**
+	 * Creates a trace of every event in a recording, without any expectations.
+	 */
+	static ReplayTrace fromRecording(final String name, final RunRecording recording)
+	{
+		final List<ExpectedState> expectations = new ArrayList<>(Collections.nCopies(recording.getEvents().size(), null));
+		return new ReplayTrace(name, new ArrayList<>(recording.getEvents()), expectations);
+	}
+
+	/**
+	 * @return A copy of this trace with the same events, expecting the given states after each event
+	 */
+	ReplayTrace withExpectations(final List<ExpectedState> expectations)
+	{
+		if (expectations.size() != events.size())
+		{
+			throw new IllegalArgumentException("Expected " + events.size() + " expectations, got " + expectations.size());
+		}
+
+		return new ReplayTrace(name, new ArrayList<>(events), new ArrayList<>(expectations));
+	}
+
+	static Builder builder(final String name)
+	{
+		return new Builder(name);
+	}
+
+	String getName()
+	{
+		return name;
+	}
+
+	List<RunRecording.Event> getEvents()
+	{
+		return events;
+	}
+
+	/**
+	 * @return The state expected after the event at the given index, or {@code null} if it should not be checked
+	 */
+	@Nullable
+	ExpectedState getExpectation(final int index)
+	{
+		return expectations.get(index);
+	}
+
+	List<ExpectedState> getExpectations()
+	{
+		return expectations;
+	}
+
+	static final class Builder
+	{
+		private final String name;
+		private final List<RunRecording.Event> events = new ArrayList<>();
+		private final List<ExpectedState> expectations = new ArrayList<>();
+		private int tick;
+
+		private Builder(final String name)
+		{
+			this.name = name;
+		}
+
+		/**
+		 * Adds an event, timestamped a number of ticks after the previous one.
+		 */
+		Builder event(final int ticksLater, final RunEventType type, final int value)
+		{
+			tick += ticksLater;
+			events.add(new RunRecording.Event(type, tick, tick * 600_000_000L, value));
+			expectations.add(null);
+			return this;
+		}
+
+		/**
+		 * Sets the state expected after the most recently added event.
+		 */
+		Builder expect(final ExpectedState state)
+		{
+			expectations.set(expectations.size() - 1, state);
+			return this;
+		}
+
+		ReplayTrace build()
+		{
+			return new ReplayTrace(name, new ArrayList<>(events), new ArrayList<>(expectations));
+		}
+	}
+
+	static final class ExpectedState
+	{
+		private final int currentWave;
+		@Nullable
+		private final CaveType activeCave;
+		private final boolean paused;
+
+		ExpectedState(final int currentWave, @Nullable final CaveType activeCave, final boolean paused)
+		{
+			this.currentWave = currentWave;
+			this.activeCave = activeCave;
+			this.paused = paused;
+		}
+
+		static ExpectedState of(final FightCaveWavesPlugin plugin)
+		{
+			final CaveRunState state = plugin.getRunState();
+			return new ExpectedState(state.getDisplayedWave(), state.getCave(), state.isPaused());
+		}
+
+		boolean matches(final FightCaveWavesPlugin plugin)
+		{
+			final CaveRunState state = plugin.getRunState();
+			return currentWave == state.getDisplayedWave()
+				&& activeCave == state.getCave()
+				&& paused == state.isPaused();
+		}
+
+		@Override
+		public boolean equals(final Object o)
+		{
+			if (!(o instanceof ExpectedState))
+			{
+				return false;
+			}
+
+			final ExpectedState other = (ExpectedState) o;
+			return currentWave == other.currentWave && activeCave == other.activeCave && paused == other.paused;
+		}
+
+		@Override
+		public int hashCode()
+		{
+			return Objects.hash(currentWave, activeCave, paused);
+		}
+
+		@Override
+		public String toString()
+		{
+			return "currentWave=" + currentWave + ", activeCave=" + activeCave + ", paused=" + paused;
+		}
+	}
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2026, Jordan Atwood <nightfirecat@nightfirec.at>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package at.nightfirec.fightcavewaves;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import net.runelite.api.GameState;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class RunRecorderTest
+{
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	private ScheduledExecutorService executor;
+	private Path directory;
+	private RunRecorder recorder;
+
+	@Before
+	public void before()
+	{
+		executor = Executors.newSingleThreadScheduledExecutor();
+		directory = temporaryFolder.getRoot().toPath().resolve("runs");
+		recorder = new RunRecorder(executor, directory);
+	}
+
+	@After
+	public void after()
+	{
+		executor.shutdownNow();
+	}
+
+	@Test
+	public void testRecordsOneFilePerCaveVisit() throws Exception
+	{
+		recorder.setRecording(true);
+
+		// outside of a cave, nothing is written
+		recorder.record(RunEventType.GAME_STATE, 1, GameState.LOGGED_IN.getState());
+		recorder.record(RunEventType.REGION, 1, -1);
+
+		recorder.record(RunEventType.REGION, 10, CaveType.FIGHT_CAVE.ordinal());
+		recorder.record(RunEventType.WAVE_START, 12, 1);
+		recorder.record(RunEventType.WAVE_START, 40, 2);
+		recorder.record(RunEventType.PAUSED, 41, 0);
+		recorder.record(RunEventType.REGION, 50, -1);
+
+		recorder.record(RunEventType.REGION, 60, CaveType.INFERNO.ordinal());
+		recorder.record(RunEventType.WAVE_START, 62, 1);
+		recorder.record(RunEventType.INFERNO_WAVE_COMPLETE, 80, 2);
+
+		stop();
+
+		final List<Path> files = recordings();
+		assertEquals(2, files.size());
+
+		final RunRecording fightCave = RunRecording.read(files.get(0));
+		assertTrue(fightCave.getStartedMillis() > 0);
+		assertArrayEquals(new RunEventType[]{
+			RunEventType.REGION, RunEventType.WAVE_START, RunEventType.WAVE_START, RunEventType.PAUSED, RunEventType.REGION,
+		}, fightCave.getEvents().stream().map(RunRecording.Event::getType).toArray());
+		assertEquals(40, fightCave.getEvents().get(2).getTick());
+		assertEquals(2, fightCave.getEvents().get(2).getValue());
+		assertTrue(fightCave.getEvents().get(1).getNanoTime() <= fightCave.getEvents().get(2).getNanoTime());
+
+		// the second recording is closed when recording stops, even though the player did not leave the cave
+		final RunRecording inferno = RunRecording.read(files.get(1));
+		assertEquals(3, inferno.getEvents().size());
+		assertEquals(CaveType.INFERNO.ordinal(), inferno.getEvents().get(0).getValue());
+		assertEquals(RunEventType.INFERNO_WAVE_COMPLETE, inferno.getEvents().get(2).getType());
+	}
+
+	@Test
+	public void testDropsEventsWhenFull() throws Exception
+	{
+		// not recording, so the buffer is never drained
+		for (int i = 0; i < 5000; i++)
+		{
+			recorder.record(RunEventType.WAVE_START, i, i);
+		}
+
+		assertEquals(5000 - 4096, recorder.getDroppedEvents());
+	}
+
+	@Test(expected = IOException.class)
+	public void testRejectsUnknownVersion() throws Exception
+	{
+		recorder.setRecording(true);
+		recorder.record(RunEventType.REGION, 1, CaveType.FIGHT_CAVE.ordinal());
+		stop();
+
+		final Path file = recordings().get(0);
+		final byte[] bytes = Files.readAllBytes(file);
+		bytes[5] = RunRecording.FORMAT_VERSION + 1;
+		Files.write(file, bytes);
+		RunRecording.read(file);
+	}
+
+	@Test(expected = IOException.class)
+	public void testRejectsUnknownEventType() throws Exception
+	{
+		recorder.setRecording(true);
+		recorder.record(RunEventType.REGION, 1, CaveType.FIGHT_CAVE.ordinal());
+		stop();
+
+		final Path file = recordings().get(0);
+		final byte[] bytes = Files.readAllBytes(file);
+		bytes[RunRecording.HEADER_SIZE] = (byte) (RunEventType.values().length + 1);
+		Files.write(file, bytes);
+		RunRecording.read(file);
+	}
+
+	private void stop() throws InterruptedException
+	{
+		recorder.setRecording(false);
+		final ExecutorService executor = this.executor;
+		executor.shutdown();
+		assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+	}
+
+	private List<Path> recordings() throws IOException
+	{
+		try (Stream<Path> files = Files.list(directory))
+		{
+			return files.sorted().collect(Collectors.toList());
+		}
+	}
+}
@@ -0,0 +1,235 @@
+/*
+ * Copyright (c) 2026, Jordan Atwood <nightfirecat@nightfirec.at>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package at.nightfirec.fightcavewaves;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import net.runelite.api.GameState;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class RunReplayTest
+{
+	private static final int RUNS = 5000;
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	private RunReplayer replayer;
+
+	@Before
+	public void before()
+	{
+		replayer = new RunReplayer(temporaryFolder.getRoot().toPath().resolve(PersonalBestSplits.FILE_NAME));
+	}
+
+	@Test
+	public void testSyntheticRuns() throws Exception
+	{
+		final Random random = new Random(1337);
+		final List<ReplayTrace> traces = new ArrayList<>(RUNS);
+		for (int i = 0; i < RUNS; i++)
+		{
+			traces.add(syntheticRun(random, "run " + i, true));
+		}
+
+		final RunReplayer.Result result = replayer.replayAll(traces);
+		assertEquals(result.toString(), 0, result.getMismatches().size());
+		assertTrue(result.toString(), result.getEventsPerSecond() > 0);
+	}
+
+	@Test
+	public void testMismatchesAreReported() throws Exception
+	{
+		final ReplayTrace trace = ReplayTrace.builder("wrong")
+			.event(0, RunEventType.REGION, CaveType.FIGHT_CAVE.ordinal())
+			.event(0, RunEventType.GAME_STATE, GameState.LOGGED_IN.getState())
+			.event(0, RunEventType.REGION, CaveType.FIGHT_CAVE.ordinal())
+			.event(5, RunEventType.WAVE_START, 1)
+			.expect(new ReplayTrace.ExpectedState(2, CaveType.FIGHT_CAVE, false))
+			.build();
+
+		final RunReplayer.Result result = replayer.replay(trace);
+		assertEquals(1, result.getMismatches().size());
+		assertEquals(4, result.getEvents());
+	}
+
+	@Test
+	public void testRecordedRuns() throws Exception
+	{
+		final Random random = new Random(42);
+		final List<ReplayTrace> expectedTraces = new ArrayList<>();
+		for (int i = 0; i < 20; i++)
+		{
+			expectedTraces.add(syntheticRun(random, "run " + i, false));
+		}
+
+		final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+		final Path directory = temporaryFolder.getRoot().toPath().resolve("runs");
+		final RunRecorder recorder = new RunRecorder(executor, directory);
+		recorder.setRecording(true);
+		for (ReplayTrace trace : expectedTraces)
+		{
+			for (RunRecording.Event event : trace.getEvents())
+			{
+				recorder.record(event.getType(), event.getTick(), event.getValue());
+			}
+			recorder.drain();
+		}
+		recorder.setRecording(false);
+		executor.shutdown();
+		assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+
+		final List<Path> files;
+		try (Stream<Path> list = Files.list(directory))
+		{
+			files = list.sorted().collect(Collectors.toList());
+		}
+		assertEquals(expectedTraces.size(), files.size());
+
+		final List<ReplayTrace> recordedTraces = new ArrayList<>();
+		for (int i = 0; i < files.size(); i++)
+		{
+			final ReplayTrace recorded = ReplayTrace.fromRecording(files.get(i).getFileName().toString(), RunRecording.read(files.get(i)));
+			recordedTraces.add(recorded.withExpectations(expectedTraces.get(i).getExpectations()));
+		}
+
+		final RunReplayer.Result result = replayer.replayAll(recordedTraces);
+		assertEquals(result.toString(), 0, result.getMismatches().size());
+	}
+
+	/**
+	 * Generates a run through a random cave, along with the plugin state expected after each event.
+	 *
+	 * @param interruptions Whether the run may be paused and logged out of partway through. A run recording ends when
+	 *                      the player leaves the cave, so runs with interruptions cannot be recorded as a single file.
+	 */
+	private static ReplayTrace syntheticRun(final Random random, final String name, final boolean interruptions)
+	{
+		final CaveType cave = CaveType.values()[random.nextInt(CaveType.values().length)];
+		final int maxWave = cave == CaveType.FIGHT_CAVE ? FightCaveWavesPlugin.MAX_FIGHT_CAVE_WAVE : FightCaveWavesPlugin.MAX_INFERNO_WAVE;
+		final int lastWave = 1 + random.nextInt(maxWave);
+		final RunModel model = new RunModel(cave);
+		final ReplayTrace.Builder builder = ReplayTrace.builder(name);
+
+		builder.event(0, RunEventType.REGION, cave.ordinal()).expect(model.expected());
+		builder.event(0, RunEventType.GAME_STATE, GameState.LOGGED_IN.getState()).expect(model.expected());
+		builder.event(0, RunEventType.REGION, cave.ordinal()).expect(model.expected());
+
+		for (int wave = 1; wave <= lastWave; wave++)
+		{
+			model.waveStart(wave);
+			builder.event(10 + random.nextInt(100), RunEventType.WAVE_START, wave).expect(model.expected());
+
+			if (interruptions && random.nextInt(20) == 0)
+			{
+				model.paused();
+				builder.event(5, RunEventType.PAUSED, 0).expect(model.expected());
+
+				model.reset();
+				builder.event(10, RunEventType.GAME_STATE, GameState.LOGIN_SCREEN.getState()).expect(model.expected());
+				builder.event(0, RunEventType.REGION, -1).expect(model.expected());
+				builder.event(100, RunEventType.GAME_STATE, GameState.LOADING.getState()).expect(model.expected());
+				builder.event(0, RunEventType.REGION, cave.ordinal()).expect(model.expected());
+				builder.event(1, RunEventType.GAME_STATE, GameState.LOGGED_IN.getState()).expect(model.expected());
+				builder.event(0, RunEventType.REGION, cave.ordinal()).expect(model.expected());
+				// The next wave is started by its wave start message when the run is resumed
+				continue;
+			}
+
+			if (cave == CaveType.INFERNO && wave < lastWave)
+			{
+				model.infernoWaveComplete();
+				builder.event(10 + random.nextInt(100), RunEventType.INFERNO_WAVE_COMPLETE, wave + 1).expect(model.expected());
+			}
+		}
+
+		// Leaving the cave does not reset the plugin until the player has logged in elsewhere
+		builder.event(5, RunEventType.GAME_STATE, GameState.LOADING.getState()).expect(model.expected());
+		builder.event(0, RunEventType.REGION, -1).expect(model.expected());
+
+		return builder.build();
+	}
+
+	/**
+	 * A reference model of the plugin's wave state, mirroring FightCaveWavesPlugin's handling of each event.
+	 */
+	private static final class RunModel
+	{
+		private final CaveType cave;
+		private int wave = -1;
+		private CaveType activeCave;
+		private boolean paused;
+
+		RunModel(final CaveType cave)
+		{
+			this.cave = cave;
+		}
+
+		void waveStart(final int wave)
+		{
+			this.wave = wave;
+			activeCave = cave;
+		}
+
+		void infernoWaveComplete()
+		{
+			if (activeCave == CaveType.INFERNO)
+			{
+				wave++;
+			}
+		}
+
+		void paused()
+		{
+			paused = true;
+		}
+
+		void reset()
+		{
+			wave = -1;
+			activeCave = null;
+			paused = false;
+		}
+
+		ReplayTrace.ExpectedState expected()
+		{
+			final int currentWave = activeCave == CaveType.INFERNO && paused ? wave - 1 : wave;
+			return new ReplayTrace.ExpectedState(currentWave, activeCave, paused);
+		}
+	}
+}
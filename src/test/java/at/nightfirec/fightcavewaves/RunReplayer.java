@@ -0,0 +1,300 @@
+/*
+ * Copyright (c) 2026, Jordan Atwood <nightfirecat@nightfirec.at>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package at.nightfirec.fightcavewaves;
+
+import com.google.gson.Gson;
+import com.google.inject.Guice;
+import com.google.inject.Scopes;
+import com.google.inject.testing.fieldbinder.Bind;
+import com.google.inject.testing.fieldbinder.BoundFieldModule;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import javax.inject.Inject;
+import net.runelite.api.ChatMessageType;
+import net.runelite.api.Client;
+import net.runelite.api.GameState;
+import net.runelite.api.events.ChatMessage;
+import net.runelite.api.events.GameStateChanged;
+import net.runelite.client.config.ConfigManager;
+import net.runelite.client.ui.ClientToolbar;
+import net.runelite.client.ui.overlay.OverlayManager;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Replays {@link ReplayTrace}s through a single headless plugin instance, with a stub client whose map regions follow
+ * the recorded regions, and checks the plugin's state against each trace's expectations.
+ * <p>
+ * The plugin is started up once for each batch of traces, and each trace begins by logging out, which resets the
+ * plugin's run state as it would in game. Personal bests are kept in a file chosen by the caller rather than in the
+ * RuneLite directory.
+ */
+final class RunReplayer
+{
+	// Lumbridge, used for any region outside of the caves
+	private static final int[] OUTSIDE_REGIONS = { 12850 };
+	private static final int[] FIGHT_CAVE_REGIONS = { FightCaveWavesPlugin.FIGHT_CAVE_REGION };
+	private static final int[] INFERNO_REGIONS = { FightCaveWavesPlugin.INFERNO_REGION };
+	private static final String INFERNO_WAVE_COMPLETE_MESSAGE = "Wave completed!";
+	private static final String FIGHT_CAVE_PAUSED_MESSAGE = "<col=ef1020>The Fight Cave has been paused. You may now log out.";
+	private static final String INFERNO_PAUSED_MESSAGE = "<col=ef1020>The Inferno has been paused. You may now log out.";
+	private static final String FIGHT_CAVE_COMPLETE_MESSAGE = "Your TzTok-Jad kill count is: <col=ff0000>1</col>.";
+	private static final String INFERNO_COMPLETE_MESSAGE = "Your TzKal-Zuk kill count is: <col=ff0000>1</col>.";
+
+	@Bind
+	private final Client client = mock(Client.class);
+
+	@Bind
+	private final FightCaveWavesConfig config = new FightCaveWavesConfig()
+	{
+	};
+
+	@Bind
+	private final ScheduledExecutorService executor = mock(ScheduledExecutorService.class);
+
+	@Bind
+	private final ConfigManager configManager = mock(ConfigManager.class);
+
+	@Bind
+	private final OverlayManager overlayManager = mock(OverlayManager.class);
+
+	@Bind
+	private final ClientToolbar clientToolbar = mock(ClientToolbar.class);
+
+	@Bind
+	private final PersonalBestSplits personalBests;
+
+	@Inject
+	private FightCaveWavesPlugin plugin;
+
+	private final GameStateChanged gameStateChanged = new GameStateChanged();
+	private final String[] waveStartMessages = new String[FightCaveWavesPlugin.MAX_INFERNO_WAVE + 1];
+
+	private int[] mapRegions = OUTSIDE_REGIONS;
+	private int tick;
+	private int regionCave = -1;
+
+	RunReplayer(final Path personalBestsFile)
+	{
+		personalBests = new PersonalBestSplits(executor, new Gson(), personalBestsFile);
+		// The plugin and its overlay inject each other, which Guice can only resolve while the plugin is a singleton
+		Guice.createInjector(
+			BoundFieldModule.of(this),
+			binder -> binder.bind(FightCaveWavesPlugin.class).in(Scopes.SINGLETON))
+			.injectMembers(this);
+		when(client.getMapRegions()).thenAnswer(invocation -> mapRegions);
+		when(client.getTickCount()).thenAnswer(invocation -> tick);
+
+		for (int wave = 0; wave < waveStartMessages.length; wave++)
+		{
+			waveStartMessages[wave] = "<col=ef1020>Wave: " + wave + "</col>";
+		}
+	}
+
+	FightCaveWavesPlugin getPlugin()
+	{
+		return plugin;
+	}
+
+	/**
+	 * Replays each trace in turn through a single plugin start up, returning the combined result of all of them.
+	 */
+	Result replayAll(final Iterable<ReplayTrace> traces) throws Exception
+	{
+		int traceCount = 0;
+		long events = 0;
+		long elapsedNanos = 0;
+		final List<String> mismatches = new ArrayList<>();
+
+		plugin.startUp();
+		try
+		{
+			for (ReplayTrace trace : traces)
+			{
+				final Result result = replayTrace(trace);
+				traceCount++;
+				events += result.getEvents();
+				elapsedNanos += result.getElapsedNanos();
+				mismatches.addAll(result.getMismatches());
+			}
+		}
+		finally
+		{
+			plugin.shutDown();
+		}
+
+		return new Result(traceCount + " traces", events, elapsedNanos, mismatches);
+	}
+
+	Result replay(final ReplayTrace trace) throws Exception
+	{
+		plugin.startUp();
+		try
+		{
+			return replayTrace(trace);
+		}
+		finally
+		{
+			plugin.shutDown();
+		}
+	}
+
+	private Result replayTrace(final ReplayTrace trace)
+	{
+		final List<RunRecording.Event> events = trace.getEvents();
+		List<String> mismatches = Collections.emptyList();
+
+		setRegion(-1);
+		gameStateChanged.setGameState(GameState.LOGIN_SCREEN);
+		plugin.onGameStateChanged(gameStateChanged);
+
+		final long start = System.nanoTime();
+		for (int i = 0; i < events.size(); i++)
+		{
+			final RunRecording.Event event = events.get(i);
+			tick = event.getTick();
+
+			if (event.getType() == RunEventType.GAME_STATE && i + 1 < events.size()
+				&& events.get(i + 1).getType() == RunEventType.REGION)
+			{
+				// Regions are recorded after the game state change which caused them, but the client's map regions had
+				// already changed by the time the plugin handled it
+				setRegion(events.get(i + 1).getValue());
+			}
+
+			dispatch(event);
+
+			final ReplayTrace.ExpectedState expected = trace.getExpectation(i);
+			if (expected != null && !expected.matches(plugin))
+			{
+				if (mismatches.isEmpty())
+				{
+					mismatches = new ArrayList<>();
+				}
+				mismatches.add(trace.getName() + " event " + i + " (" + event + "): expected " + expected
+					+ " but was " + ReplayTrace.ExpectedState.of(plugin));
+			}
+		}
+		final long elapsedNanos = System.nanoTime() - start;
+
+		return new Result(trace.getName(), events.size(), elapsedNanos, mismatches);
+	}
+
+	private void dispatch(final RunRecording.Event event)
+	{
+		switch(event.getType())
+		{
+			case GAME_STATE:
+				gameStateChanged.setGameState(GameState.of(event.getValue()));
+				plugin.onGameStateChanged(gameStateChanged);
+				break;
+			case REGION:
+				setRegion(event.getValue());
+				break;
+			case WAVE_START:
+				chat(waveStartMessages[event.getValue()]);
+				break;
+			case INFERNO_WAVE_COMPLETE:
+				chat(INFERNO_WAVE_COMPLETE_MESSAGE);
+				break;
+			case PAUSED:
+				chat(regionCave == CaveType.INFERNO.ordinal() ? INFERNO_PAUSED_MESSAGE : FIGHT_CAVE_PAUSED_MESSAGE);
+				break;
+			case RUN_COMPLETE:
+				chat(regionCave == CaveType.INFERNO.ordinal() ? INFERNO_COMPLETE_MESSAGE : FIGHT_CAVE_COMPLETE_MESSAGE);
+				break;
+			default:
+				throw new IllegalArgumentException("Cannot replay run event type: " + event.getType());
+		}
+	}
+
+	private void chat(final String message)
+	{
+		plugin.onChatMessage(new ChatMessage(null, ChatMessageType.GAMEMESSAGE, "", message, "", 0));
+	}
+
+	private void setRegion(final int caveOrdinal)
+	{
+		regionCave = caveOrdinal;
+		if (caveOrdinal == CaveType.FIGHT_CAVE.ordinal())
+		{
+			mapRegions = FIGHT_CAVE_REGIONS;
+		}
+		else if (caveOrdinal == CaveType.INFERNO.ordinal())
+		{
+			mapRegions = INFERNO_REGIONS;
+		}
+		else
+		{
+			mapRegions = OUTSIDE_REGIONS;
+		}
+	}
+
+	static final class Result
+	{
+		private final String name;
+		private final long events;
+		private final long elapsedNanos;
+		private final List<String> mismatches;
+
+		Result(final String name, final long events, final long elapsedNanos, final List<String> mismatches)
+		{
+			this.name = name;
+			this.events = events;
+			this.elapsedNanos = elapsedNanos;
+			this.mismatches = mismatches;
+		}
+
+		long getEvents()
+		{
+			return events;
+		}
+
+		long getElapsedNanos()
+		{
+			return elapsedNanos;
+		}
+
+		List<String> getMismatches()
+		{
+			return mismatches;
+		}
+
+		double getEventsPerSecond()
+		{
+			return elapsedNanos == 0 ? 0 : events * 1_000_000_000.0 / elapsedNanos;
+		}
+
+		@Override
+		public String toString()
+		{
+			return String.format("%s: %d events in %.1fms (%.0f events/s), %d mismatches",
+				name, events, elapsedNanos / 1_000_000.0, getEventsPerSecond(), mismatches.size());
+		}
+	}
+}
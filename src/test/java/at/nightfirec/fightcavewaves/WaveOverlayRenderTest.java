@@ -0,0 +1,342 @@
+/*
+ * Copyright (c) 2026, Jordan Atwood <nightfirecat@nightfirec.at>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package at.nightfirec.fightcavewaves;
+
+import com.google.common.io.ByteStreams;
+import com.google.inject.Guice;
+import com.google.inject.Scopes;
+import com.google.inject.testing.fieldbinder.Bind;
+import com.google.inject.testing.fieldbinder.BoundFieldModule;
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import javax.inject.Inject;
+import net.runelite.api.ChatMessageType;
+import net.runelite.api.Client;
+import net.runelite.api.GameState;
+import net.runelite.api.events.ChatMessage;
+import net.runelite.api.events.GameStateChanged;
+import net.runelite.client.config.ConfigManager;
+import net.runelite.client.events.ConfigChanged;
+import net.runelite.client.ui.ClientToolbar;
+import net.runelite.client.ui.FontManager;
+import net.runelite.client.ui.overlay.OverlayManager;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.MockitoJUnitRunner;
+
+/**
+ * Renders {@link WaveOverlay} offscreen for every wave of both caves, under every wave display mode and combination of
+ * the config options which affect its static contents, through both the panel component and direct rendering paths.
+ * <p>
+ * Each render's text is recorded as a {@link DrawnText} transcript of the strings drawn and their colours. Both
+ * paths must draw the same transcript on every wave, and the transcripts of {@link #GOLDEN_WAVES} are also compared
+ * against the golden transcripts in {@code src/test/resources}, a missing one of which fails the test. Text is compared
+ * rather than pixels because pixels depend on the client's fonts, which differ between platforms. Run the tests with
+ * {@code -PrecordGoldens} to write the current transcripts out as the new goldens, and check them by hand before
+ * committing them.
+ * <p>
+ * The median allocation of the frames which rebuild the overlay's contents must also stay within a budget, which may
+ * be overridden with {@code -PrenderBudgetBytes}. Frame times are measured by {@code WaveOverlayBenchmark} instead, as
+ * wall-clock budgets are unreliable in a unit test.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class WaveOverlayRenderTest
+{
+	private static final Path PROJECT_DIRECTORY = Paths.get(System.getProperty("fightcavewaves.projectDir", ""));
+	private static final Path GOLDEN_DIRECTORY = PROJECT_DIRECTORY.resolve("src/test/resources/at/nightfirec/fightcavewaves/goldens");
+	private static final Path FAILURE_DIRECTORY = PROJECT_DIRECTORY.resolve("build/render-failures");
+	private static final boolean RECORD_GOLDENS = Boolean.getBoolean("fightcavewaves.recordGoldens");
+	private static final long RENDER_BUDGET_BYTES = Long.getLong("fightcavewaves.renderBudgetBytes", 64 * 1024L);
+
+	// The first wave, a wave from the middle of each cave, and each cave's final wave
+	private static final int[] GOLDEN_WAVES = {1, 31, 63, 69};
+	// Combinations of common names, monster levels, and the boss summary
+	private static final int FLAG_COMBINATIONS = 8;
+
+	private static final int IMAGE_WIDTH = 400;
+	private static final int IMAGE_HEIGHT = 800;
+
+	@Mock
+	@Bind
+	private Client client;
+
+	@Mock
+	@Bind
+	private FightCaveWavesConfig config;
+
+	@Mock
+	@Bind
+	private ScheduledExecutorService executor;
+
+	@Mock
+	@Bind
+	private ConfigManager configManager;
+
+	@Mock
+	@Bind
+	private OverlayManager overlayManager;
+
+	@Mock
+	@Bind
+	private ClientToolbar clientToolbar;
+
+	@Inject
+	private FightCaveWavesPlugin plugin;
+
+	@Inject
+	private WaveOverlay waveOverlay;
+
+	private final BufferedImage image = new BufferedImage(IMAGE_WIDTH, IMAGE_HEIGHT, BufferedImage.TYPE_INT_ARGB);
+	private final List<String> failures = new ArrayList<>();
+	private long[] frameBytes;
+	private int frames;
+
+	@Before
+	public void before()
+	{
+		// The plugin and its overlay inject each other, which Guice can only resolve while the plugin is a singleton
+		Guice.createInjector(
+			BoundFieldModule.of(this),
+			binder -> binder.bind(FightCaveWavesPlugin.class).in(Scopes.SINGLETON))
+			.injectMembers(this);
+		when(config.lookaheadDepth()).thenReturn(5);
+	}
+
+	@Test
+	public void testRenders() throws Exception
+	{
+		// Warm up, so that class loading and compilation are not measured against the budget
+		renderAll(false);
+		renderAll(true);
+
+		if (!failures.isEmpty())
+		{
+			fail(failures.size() + " render(s) did not match, see " + FAILURE_DIRECTORY.toAbsolutePath()
+				+ ":\n" + String.join("\n", failures.subList(0, Math.min(failures.size(), 20))));
+		}
+
+		if (frameBytes != null)
+		{
+			final long medianBytes = median(frameBytes, frames);
+			assertTrue("Median frame allocation " + medianBytes + "B exceeds the budget of " + RENDER_BUDGET_BYTES + "B",
+				medianBytes <= RENDER_BUDGET_BYTES);
+		}
+	}
+
+	private void renderAll(final boolean check) throws Exception
+	{
+		final AllocationMeter meter = AllocationMeter.forCurrentThread();
+		int frameCount = 0;
+		for (final CaveType cave : CaveType.values())
+		{
+			frameCount += WaveTables.forCave(cave).size();
+		}
+		frameCount *= WaveDisplayMode.values().length * FLAG_COMBINATIONS * 2;
+		frameBytes = meter == null ? null : new long[frameCount];
+		frames = 0;
+
+		for (final CaveType cave : CaveType.values())
+		{
+			when(client.getMapRegions()).thenReturn(new int[]{ cave == CaveType.FIGHT_CAVE ? FightCaveWavesPlugin.FIGHT_CAVE_REGION : FightCaveWavesPlugin.INFERNO_REGION });
+			final GameStateChanged loggedIn = new GameStateChanged();
+			loggedIn.setGameState(GameState.LOGGED_IN);
+			plugin.onGameStateChanged(loggedIn);
+
+			for (final WaveDisplayMode mode : WaveDisplayMode.values())
+			{
+				for (int flags = 0; flags < FLAG_COMBINATIONS; flags++)
+				{
+					final List<String> panelTranscripts = renderWaves(cave, mode, flags, false, meter);
+					final List<String> directTranscripts = renderWaves(cave, mode, flags, true, meter);
+					if (!check)
+					{
+						continue;
+					}
+
+					final String name = goldenName(cave, mode, flags);
+					final StringBuilder golden = new StringBuilder();
+					for (int i = 0; i < panelTranscripts.size(); i++)
+					{
+						final int wave = i + 1;
+						if (!panelTranscripts.get(i).equals(directTranscripts.get(i)))
+						{
+							failures.add(name + " wave " + wave + ": direct rendering drew\n" + directTranscripts.get(i)
+								+ "but the panel drew\n" + panelTranscripts.get(i));
+						}
+
+						if (isGoldenWave(wave))
+						{
+							golden.append("== Wave ").append(wave).append(" ==\n").append(panelTranscripts.get(i));
+						}
+					}
+
+					checkGolden(name, golden.toString());
+				}
+			}
+		}
+	}
+
+	/**
+	 * Renders each wave of the given cave, measuring the allocation of the first frame after the wave changes, which
+	 * misses the overlay's cache and rebuilds its contents.
+	 *
+	 * @return The transcript of each wave's render, in wave order
+	 */
+	private List<String> renderWaves(final CaveType cave, final WaveDisplayMode mode, final int flags, final boolean direct,
+		final AllocationMeter meter) throws Exception
+	{
+		applyConfig(mode, flags, direct);
+
+		final int waveCount = WaveTables.forCave(cave).size();
+		final List<String> transcripts = new ArrayList<>(waveCount);
+		for (int wave = 1; wave <= waveCount; wave++)
+		{
+			plugin.onChatMessage(new ChatMessage(null, ChatMessageType.GAMEMESSAGE, "", "<col=ef1020>Wave: " + wave + "</col>", "", 0));
+
+			final long misses = waveOverlay.getRenderCacheMisses();
+			Graphics2D graphics = createGraphics();
+			final long startBytes = meter == null ? 0 : meter.allocatedBytes();
+			waveOverlay.render(graphics);
+			final long bytes = meter == null ? 0 : meter.allocatedBytes() - startBytes;
+			graphics.dispose();
+			if (frameBytes != null)
+			{
+				frameBytes[frames++] = bytes;
+			}
+
+			// Record the next frame, which is drawn from the contents built above. Nothing is rendered when, for
+			// example, only the next wave is shown on the final wave.
+			graphics = createGraphics();
+			transcripts.add(DrawnText.render(waveOverlay, graphics));
+			graphics.dispose();
+
+			// Only the measured frame should have rebuilt the overlay's contents
+			assertEquals(misses + 1, waveOverlay.getRenderCacheMisses());
+		}
+		return transcripts;
+	}
+
+	/**
+	 * Publishes a config with the given wave display mode and rendering path, and each bit of {@code flags} selecting
+	 * one of common names, monster levels, and the boss summary.
+	 */
+	private void applyConfig(final WaveDisplayMode mode, final int flags, final boolean direct)
+	{
+		when(config.waveDisplay()).thenReturn(mode);
+		when(config.commonNames()).thenReturn((flags & 1) != 0);
+		when(config.showMonsterLevel()).thenReturn((flags & 2) != 0);
+		when(config.showSummary()).thenReturn((flags & 4) != 0);
+		when(config.directRendering()).thenReturn(direct);
+
+		final ConfigChanged configChanged = new ConfigChanged();
+		configChanged.setGroup(FightCaveWavesConfig.GROUP);
+		plugin.onConfigChanged(configChanged);
+	}
+
+	private Graphics2D createGraphics()
+	{
+		final Graphics2D graphics = image.createGraphics();
+		graphics.setComposite(AlphaComposite.Clear);
+		graphics.fillRect(0, 0, IMAGE_WIDTH, IMAGE_HEIGHT);
+		graphics.setComposite(AlphaComposite.SrcOver);
+		// Match the overlay renderer's setup
+		graphics.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_OFF);
+		if (FontManager.getRunescapeFont() != null)
+		{
+			graphics.setFont(FontManager.getRunescapeFont());
+		}
+		return graphics;
+	}
+
+	private void checkGolden(final String name, final String actual) throws IOException
+	{
+		if (RECORD_GOLDENS)
+		{
+			Files.createDirectories(GOLDEN_DIRECTORY);
+			Files.write(GOLDEN_DIRECTORY.resolve(name), actual.getBytes(StandardCharsets.UTF_8));
+			return;
+		}
+
+		final String expected;
+		try (InputStream in = WaveOverlayRenderTest.class.getResourceAsStream("goldens/" + name))
+		{
+			if (in == null)
+			{
+				failures.add(name + " is missing; record it with -PrecordGoldens");
+				return;
+			}
+			expected = new String(ByteStreams.toByteArray(in), StandardCharsets.UTF_8);
+		}
+
+		if (!expected.equals(actual))
+		{
+			failures.add(name + " does not match its golden transcript");
+			Files.createDirectories(FAILURE_DIRECTORY);
+			Files.write(FAILURE_DIRECTORY.resolve(name), actual.getBytes(StandardCharsets.UTF_8));
+		}
+	}
+
+	private static boolean isGoldenWave(final int wave)
+	{
+		for (final int goldenWave : GOLDEN_WAVES)
+		{
+			if (wave == goldenWave)
+			{
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static String goldenName(final CaveType cave, final WaveDisplayMode mode, final int flags)
+	{
+		return String.format("%s-%s-%x.txt", cave.name().toLowerCase(), mode.name().toLowerCase(), flags);
+	}
+
+	private static long median(final long[] values, final int count)
+	{
+		final long[] sorted = Arrays.copyOf(values, count);
+		Arrays.sort(sorted);
+		return sorted[count / 2];
+	}
+}
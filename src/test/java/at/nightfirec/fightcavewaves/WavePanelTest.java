@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2026, Jordan Atwood <nightfirecat@nightfirec.at>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package at.nightfirec.fightcavewaves;
+
+import java.awt.Component;
+import javax.swing.JList;
+import javax.swing.ListCellRenderer;
+import javax.swing.SwingUtilities;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import org.junit.Before;
+import org.junit.Test;
+import static org.mockito.Mockito.mock;
+
+public class WavePanelTest
+{
+	private final DisplayStringCache displayStringCache = new DisplayStringCache();
+	private ConfigSnapshot config;
+	private WavePanel panel;
+
+	@Before
+	public void before() throws Exception
+	{
+		config = ConfigSnapshot.of(mock(FightCaveWavesConfig.class));
+		displayStringCache.reset(config);
+		SwingUtilities.invokeAndWait(() -> panel = new WavePanel(displayStringCache));
+	}
+
+	@Test
+	public void testEmptyUntilFirstCave() throws Exception
+	{
+		assertEquals(0, panel.getList().getModel().getSize());
+
+		panel.update(CaveRunState.INITIAL.nextVersion(), config);
+		SwingUtilities.invokeAndWait(() -> {});
+		assertEquals(0, panel.getList().getModel().getSize());
+		assertEquals(-1, panel.getHighlightedIndex());
+	}
+
+	@Test
+	public void testUpdatesAreCoalesced() throws Exception
+	{
+		CaveRunState state = CaveRunState.INITIAL;
+		for (int wave = 1; wave <= 20; wave++)
+		{
+			state = state.waveStarted(CaveType.INFERNO, wave);
+			panel.update(state, config);
+		}
+		SwingUtilities.invokeAndWait(() -> {});
+
+		assertEquals(1, panel.getFlushes());
+		assertEquals(19, panel.getHighlightedIndex());
+		assertEquals(FightCaveWavesPlugin.MAX_INFERNO_WAVE, panel.getList().getModel().getSize());
+
+		panel.update(state.reset(), config);
+		SwingUtilities.invokeAndWait(() -> {});
+
+		assertEquals(2, panel.getFlushes());
+		assertEquals(-1, panel.getHighlightedIndex());
+		// The last cave's waves are kept listed between runs
+		assertEquals(FightCaveWavesPlugin.MAX_INFERNO_WAVE, panel.getList().getModel().getSize());
+	}
+
+	@Test
+	public void testRendererIsReused() throws Exception
+	{
+		panel.update(CaveRunState.INITIAL.waveStarted(CaveType.FIGHT_CAVE, 1), config);
+		SwingUtilities.invokeAndWait(() ->
+		{
+			final JList<Integer> list = panel.getList();
+			final ListCellRenderer<? super Integer> renderer = list.getCellRenderer();
+			final Component first = renderer.getListCellRendererComponent(list, 0, 0, false, false);
+			for (int waveIndex = 1; waveIndex < list.getModel().getSize(); waveIndex++)
+			{
+				assertSame(first, renderer.getListCellRendererComponent(list, waveIndex, waveIndex, false, false));
+			}
+		});
+
+		assertEquals(FightCaveWavesPlugin.MAX_FIGHT_CAVE_WAVE, panel.getList().getModel().getSize());
+		assertEquals(0, panel.getHighlightedIndex());
+	}
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2026, Jordan Atwood <nightfirecat@nightfirec.at>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package at.nightfirec.fightcavewaves;
+
+import java.util.List;
+import java.util.Map;
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+
+public class WaveStatisticsTest
+{
+	@Test
+	public void testMatchesWaveTables()
+	{
+		for (CaveType cave : CaveType.values())
+		{
+			final List<Map<WaveMonster, Integer>> waves = WaveTables.forCave(cave).asMaps();
+			final WaveStatistics statistics = WaveTables.statisticsForCave(cave);
+			assertEquals(waves.size(), statistics.size());
+
+			for (int waveIndex = 0; waveIndex < waves.size(); waveIndex++)
+			{
+				for (WaveMonster monster : WaveTables.forCave(cave).getMonsters())
+				{
+					int expected = 0;
+					for (int i = waveIndex; i < waves.size(); i++)
+					{
+						expected += waves.get(i).getOrDefault(monster, 0);
+					}
+					assertEquals(expected, statistics.remaining(waveIndex, monster));
+				}
+
+				for (WaveMonsterType type : WaveMonsterType.values())
+				{
+					int expected = 0;
+					for (int i = waveIndex; i < waves.size(); i++)
+					{
+						for (Map.Entry<WaveMonster, Integer> entry : waves.get(i).entrySet())
+						{
+							if (entry.getKey().getType() == type)
+							{
+								expected += entry.getValue();
+							}
+						}
+					}
+					assertEquals(expected, statistics.remaining(waveIndex, type));
+				}
+
+				int expectedBeforeBoss = 0;
+				for (int i = waveIndex; i < statistics.getBossWaveIndex(); i++)
+				{
+					expectedBeforeBoss += waves.get(i).values().stream().mapToInt(Integer::intValue).sum();
+				}
+				assertEquals(expectedBeforeBoss, statistics.remainingBeforeBoss(waveIndex));
+			}
+		}
+	}
+
+	@Test
+	public void testBossWaves()
+	{
+		final WaveStatistics fightCave = WaveTables.statisticsForCave(CaveType.FIGHT_CAVE);
+		assertEquals(FightCaveWavesPlugin.MAX_FIGHT_CAVE_WAVE - 1, fightCave.getBossWaveIndex());
+		assertEquals(62, fightCave.wavesBeforeBoss(0));
+		assertEquals(1, fightCave.wavesBeforeBoss(61));
+		assertEquals(0, fightCave.wavesBeforeBoss(62));
+		assertEquals(0, fightCave.remainingBeforeBoss(62));
+		assertEquals(2, fightCave.remainingBeforeBoss(61));
+		assertEquals(1, fightCave.remaining(0, WaveMonsterType.JAD));
+
+		final WaveStatistics inferno = WaveTables.statisticsForCave(CaveType.INFERNO);
+		assertEquals(FightCaveWavesPlugin.MAX_INFERNO_WAVE - 1, inferno.getBossWaveIndex());
+		assertEquals(1, inferno.remaining(0, WaveMonsterType.ZUK));
+		assertEquals(4, inferno.remaining(0, WaveMonsterType.JAD));
+	}
+
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void testOutOfBounds()
+	{
+		WaveTables.statisticsForCave(CaveType.FIGHT_CAVE).remaining(FightCaveWavesPlugin.MAX_FIGHT_CAVE_WAVE, WaveMonsterType.JAD);
+	}
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2026, Jordan Atwood <nightfirecat@nightfirec.at>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package at.nightfirec.fightcavewaves;
+
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import net.runelite.client.ui.overlay.components.ComponentConstants;
+import net.runelite.client.ui.overlay.components.LineComponent;
+import net.runelite.client.ui.overlay.components.PanelComponent;
+import net.runelite.client.ui.overlay.components.TitleComponent;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class WaveTextBlockTest
+{
+	private BufferedImage image;
+	private Graphics2D graphics;
+
+	@Before
+	public void before()
+	{
+		image = new BufferedImage(300, 300, BufferedImage.TYPE_INT_ARGB);
+		graphics = image.createGraphics();
+		graphics.setFont(new Font(Font.DIALOG, Font.PLAIN, 12));
+	}
+
+	@After
+	public void after()
+	{
+		graphics.dispose();
+	}
+
+	@Test
+	public void testEmpty()
+	{
+		assertNull(new WaveTextBlock().render(graphics));
+	}
+
+	@Test
+	public void testLayout()
+	{
+		final FontMetrics metrics = graphics.getFontMetrics();
+		final WaveTextBlock textBlock = new WaveTextBlock();
+		textBlock.addTitle("Wave 1", Color.ORANGE);
+		textBlock.addLine("1x Bat - Level 22");
+
+		final Dimension dimension = textBlock.render(graphics);
+		assertEquals(ComponentConstants.STANDARD_WIDTH, dimension.width);
+		assertEquals(metrics.getHeight() * 2 + 1 + ComponentConstants.STANDARD_BORDER * 2, dimension.height);
+		assertEquals(dimension, textBlock.getBounds().getSize());
+		// Frames reuse the same dimension rather than allocating one
+		assertSame(dimension, textBlock.render(graphics));
+
+		textBlock.clear();
+		textBlock.addTitle("Wave 1", Color.ORANGE);
+		assertEquals(metrics.getHeight() + ComponentConstants.STANDARD_BORDER * 2, textBlock.render(graphics).height);
+
+		textBlock.setPreferredSize(new Dimension(200, 0));
+		assertEquals(200, textBlock.render(graphics).width);
+	}
+
+	@Test
+	public void testLongLineWidensBlock()
+	{
+		final String line = "20x A line which is far too long to fit in a standard overlay";
+		final WaveTextBlock textBlock = new WaveTextBlock();
+		textBlock.addLine(line);
+
+		final Dimension dimension = textBlock.render(graphics);
+		assertEquals(graphics.getFontMetrics().stringWidth(line) + ComponentConstants.STANDARD_BORDER * 2, dimension.width);
+	}
+
+	@Test
+	public void testRightText()
+	{
+		final FontMetrics metrics = graphics.getFontMetrics();
+		final WaveTextBlock textBlock = new WaveTextBlock();
+		textBlock.addLine("Run time", "12:34.5", Color.WHITE);
+		assertEquals(ComponentConstants.STANDARD_WIDTH, textBlock.render(graphics).width);
+
+		final String left = "A long line with right-aligned text";
+		final String right = "-1:00:00.0";
+		textBlock.addLine(left, right, Color.GREEN);
+		final int minimumWidth = metrics.stringWidth(left) + metrics.stringWidth(right) + ComponentConstants.STANDARD_BORDER * 2;
+		assertTrue(textBlock.render(graphics).width > minimumWidth);
+	}
+
+	@Test
+	public void testGrowsBeyondInitialCapacity()
+	{
+		final WaveTextBlock textBlock = new WaveTextBlock();
+		for (int i = 0; i < 40; i++)
+		{
+			textBlock.addLine("Line " + i);
+		}
+
+		assertEquals(40, textBlock.getLineCount());
+		assertEquals(graphics.getFontMetrics().getHeight() * 40 + 39 + ComponentConstants.STANDARD_BORDER * 2, textBlock.render(graphics).height);
+	}
+
+	@Test
+	public void testMatchesPanelBounds()
+	{
+		final PanelComponent panel = new PanelComponent();
+		panel.setPreferredSize(new Dimension(ComponentConstants.STANDARD_WIDTH, 0));
+		final WaveTextBlock textBlock = new WaveTextBlock();
+
+		panel.getChildren().add(TitleComponent.builder().text("Wave 1").color(Color.ORANGE).build());
+		textBlock.addTitle("Wave 1", Color.ORANGE);
+		assertBoundsMatch(panel, textBlock);
+
+		panel.getChildren().add(LineComponent.builder().left("3x Jal-Nib").build());
+		textBlock.addLine("3x Jal-Nib");
+		panel.getChildren().add(LineComponent.builder().left("1x Jal-MejRah").right("0/1").build());
+		textBlock.addLine("1x Jal-MejRah", "0/1", Color.WHITE);
+		panel.getChildren().add(TitleComponent.builder().text("Next wave").color(Color.ORANGE).build());
+		textBlock.addTitle("Next wave", Color.ORANGE);
+		assertBoundsMatch(panel, textBlock);
+	}
+
+	private void assertBoundsMatch(final PanelComponent panel, final WaveTextBlock textBlock)
+	{
+		// Render the panel twice, as a panel may size itself from the layout of its previous frame
+		panel.render(graphics);
+		final Dimension expected = panel.render(graphics);
+		assertEquals(expected, textBlock.render(graphics));
+		assertEquals(panel.getBounds(), textBlock.getBounds());
+	}
+}
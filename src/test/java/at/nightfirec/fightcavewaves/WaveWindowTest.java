@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2026, Jordan Atwood <nightfirecat@nightfirec.at>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package at.nightfirec.fightcavewaves;
+
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+
+public class WaveWindowTest
+{
+	private final WaveWindow<String> window = new WaveWindow<>(waveIndex -> "Wave " + (waveIndex + 1));
+
+	@Test
+	public void testSlide()
+	{
+		window.moveTo(0, 5);
+		assertRows(0, 5);
+		assertEquals(5, window.getRowsBuilt());
+
+		window.moveTo(1, 5);
+		assertRows(1, 5);
+		assertEquals(6, window.getRowsBuilt());
+
+		window.moveTo(4, 5);
+		assertRows(4, 5);
+		assertEquals(9, window.getRowsBuilt());
+
+		// unchanged
+		window.moveTo(4, 5);
+		assertEquals(9, window.getRowsBuilt());
+	}
+
+	@Test
+	public void testResize()
+	{
+		window.moveTo(0, 3);
+		window.moveTo(1, 6);
+		assertRows(1, 6);
+		assertEquals(7, window.getRowsBuilt());
+
+		window.moveTo(2, 2);
+		assertRows(2, 2);
+		assertEquals(7, window.getRowsBuilt());
+
+		window.moveTo(2, 0);
+		assertEquals(0, window.size());
+	}
+
+	@Test
+	public void testJump()
+	{
+		window.moveTo(0, 5);
+		window.moveTo(20, 5);
+		assertRows(20, 5);
+		assertEquals(10, window.getRowsBuilt());
+
+		// moving backwards rebuilds every row
+		window.moveTo(19, 5);
+		assertRows(19, 5);
+		assertEquals(15, window.getRowsBuilt());
+
+		window.clear();
+		window.moveTo(20, 5);
+		assertEquals(20, window.getRowsBuilt());
+	}
+
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void testOutOfBounds()
+	{
+		window.moveTo(0, 2);
+		window.get(2);
+	}
+
+	private void assertRows(final int firstWaveIndex, final int size)
+	{
+		assertEquals(size, window.size());
+		for (int i = 0; i < size; i++)
+		{
+			assertEquals("Wave " + (firstWaveIndex + i + 1), window.get(i));
+		}
+	}
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2026, Jordan Atwood <nightfirecat@nightfirec.at>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package at.nightfirec.fightcavewaves;
+
+import java.lang.management.ManagementFactory;
+import javax.annotation.Nullable;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Measures the bytes allocated by the thread which created it, for tests of code which should not allocate.
+ */
+final class AllocationMeter
+{
+	// getThreadAllocatedBytes itself may allocate a small, fixed amount
+	private static final long MEASUREMENT_OVERHEAD_BYTES = 1024;
+
+	private final com.sun.management.ThreadMXBean bean;
+	private final long threadId;
+
+	private AllocationMeter(final com.sun.management.ThreadMXBean bean)
+	{
+		this.bean = bean;
+		threadId = Thread.currentThread().getId();
+	}
+
+	/**
+	 * @return A meter for the current thread, or {@code null} if this JVM cannot measure per-thread allocation
+	 */
+	@Nullable
+	static AllocationMeter forCurrentThread()
+	{
+		final java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		if (bean instanceof com.sun.management.ThreadMXBean
+			&& ((com.sun.management.ThreadMXBean) bean).isThreadAllocatedMemorySupported())
+		{
+			return new AllocationMeter((com.sun.management.ThreadMXBean) bean);
+		}
+		return null;
+	}
+
+	/**
+	 * @return A meter for the current thread, skipping the calling test if this JVM cannot measure per-thread allocation
+	 */
+	static AllocationMeter assumeSupported()
+	{
+		final AllocationMeter meter = forCurrentThread();
+		assumeTrue("Per-thread allocation cannot be measured", meter != null);
+		return meter;
+	}
+
+	/**
+	 * @return The total number of bytes allocated by this meter's thread so far
+	 */
+	long allocatedBytes()
+	{
+		return bean.getThreadAllocatedBytes(threadId);
+	}
+
+	/**
+	 * Runs the given task, failing if it allocates. The task should already have been run once, so that class loading
+	 * and compilation are not measured.
+	 */
+	void assertDoesNotAllocate(final Runnable task)
+	{
+		final long before = allocatedBytes();
+		task.run();
+		final long allocated = allocatedBytes() - before;
+
+		assertTrue("allocated " + allocated + " bytes", allocated < MEASUREMENT_OVERHEAD_BYTES);
+	}
+}